@@ -1,18 +1,19 @@
 package school.hei.patrimoine.cas;
 
-import static java.util.stream.Collectors.toSet;
-
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import school.hei.patrimoine.modele.Devise;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.Personne;
 import school.hei.patrimoine.modele.objectif.ObjectifNonAtteint;
+import school.hei.patrimoine.modele.objectif.Objectivable;
+import school.hei.patrimoine.modele.objectif.VerificateurDesObjectifs;
+import school.hei.patrimoine.modele.objectif.VerificationDesObjectifs;
 import school.hei.patrimoine.modele.possession.Compte;
 import school.hei.patrimoine.modele.possession.Possession;
 
@@ -54,13 +55,33 @@ public abstract class Cas {
   protected abstract void suivi();
 
   public Set<ObjectifNonAtteint> verifier() {
+    return verification().nonAtteints();
+  }
+
+  public VerificationDesObjectifs verification() {
+    return journaliser(verificateur().verifier());
+  }
+
+  VerificateurDesObjectifs verificateur() {
     warnPrecociousFluxArgent();
 
-    var nonAtteintsPatrimoines = patrimoine().verifier();
-    var nonAtteintsPossessions =
-        possessions().stream().flatMap(p -> p.verifier().stream()).collect(toSet());
-    return Stream.concat(nonAtteintsPatrimoines.stream(), nonAtteintsPossessions.stream())
-        .collect(toSet());
+    var objectivables = new ArrayList<Objectivable>();
+    objectivables.add(patrimoine());
+    objectivables.addAll(possessions());
+    return new VerificateurDesObjectifs(patrimoine(), objectivables);
+  }
+
+  static VerificationDesObjectifs journaliser(VerificationDesObjectifs verification) {
+    verification
+        .objectifsVerifies()
+        .forEach(
+            o ->
+                log.debug(
+                    "{} vérifié en {}µs: {}",
+                    o.objectif(),
+                    o.duree().toNanos() / 1_000,
+                    o.valeurAtteinte()));
+    return verification;
   }
 
   private void warnPrecociousFluxArgent() {
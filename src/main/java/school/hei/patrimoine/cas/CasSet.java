@@ -1,6 +1,20 @@
 package school.hei.patrimoine.cas;
 
+import static school.hei.patrimoine.cas.Cas.journaliser;
+
 import java.util.Set;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.objectif.ObjectifNonAtteint;
+import school.hei.patrimoine.modele.objectif.VerificateurDesObjectifs;
+import school.hei.patrimoine.modele.objectif.VerificationDesObjectifs;
+
+public record CasSet(Set<Cas> set, Argent objectifFinal) {
+  public Set<ObjectifNonAtteint> verifier() {
+    return verification().nonAtteints();
+  }
 
-public record CasSet(Set<Cas> set, Argent objectifFinal) {}
+  public VerificationDesObjectifs verification() {
+    return journaliser(
+        VerificateurDesObjectifs.verifier(set.stream().map(Cas::verificateur).toList()));
+  }
+}
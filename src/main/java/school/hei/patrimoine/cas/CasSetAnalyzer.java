@@ -12,10 +12,12 @@ import lombok.SneakyThrows;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.objectif.ObjectifExeption;
 import school.hei.patrimoine.visualisation.swing.ihm.MainIHM;
+import school.hei.patrimoine.visualisation.swing.modele.EvolutionsRecentes;
 
 @RequiredArgsConstructor
 public class CasSetAnalyzer implements Consumer<CasSet> {
   private final int closeOperation;
+  private final EvolutionsRecentes evolutionsRecentes;
 
   public static void main(String[] args) {
     new CasSetAnalyzer().accept(new CasSetSupplier().get());
@@ -25,6 +27,10 @@ public class CasSetAnalyzer implements Consumer<CasSet> {
     this(EXIT_ON_CLOSE);
   }
 
+  public CasSetAnalyzer(int closeOperation) {
+    this(closeOperation, new EvolutionsRecentes());
+  }
+
   @Override
   public void accept(CasSet casSet) {
     var aCas = casSet.set().stream().toList().getFirst();
@@ -49,6 +55,7 @@ public class CasSetAnalyzer implements Consumer<CasSet> {
                     .map(Cas::patrimoine)
                     .sorted(comparing(Patrimoine::nom))
                     .toList(),
-                closeOperation));
+                closeOperation,
+                evolutionsRecentes));
   }
 }
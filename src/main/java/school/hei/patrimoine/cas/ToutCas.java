@@ -4,15 +4,21 @@ import static java.util.stream.Collectors.toSet;
 import static school.hei.patrimoine.modele.Devise.EUR;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import school.hei.patrimoine.modele.Devise;
 import school.hei.patrimoine.modele.Personne;
 import school.hei.patrimoine.modele.objectif.Objectif;
+import school.hei.patrimoine.modele.objectif.VerificateurDesObjectifs;
+import school.hei.patrimoine.modele.objectif.VerificationDesObjectifs;
 import school.hei.patrimoine.modele.possession.Possession;
 
 public class ToutCas extends Cas {
+  // Each cas already counts in the patrimoine of its owners: Tout only lists them. The share used
+  // to be NaN, which Math.round turned into 0 until Argent refused non-finite amounts
+  static final double PART_DES_POSSESSEURS = 0.;
 
   private final CasSet casSet;
 
@@ -27,7 +33,7 @@ public class ToutCas extends Cas {
             .flatMap(cas -> cas.patrimoine().getPossesseurs().keySet().stream())
             .collect(toSet());
     Map<Personne, Double> possesseurs = new HashMap<>();
-    toutPersonnes.forEach(p -> possesseurs.put(p, Double.NaN)); // TODO: NaN?
+    toutPersonnes.forEach(p -> possesseurs.put(p, PART_DES_POSSESSEURS));
     return possesseurs;
   }
 
@@ -49,6 +55,15 @@ public class ToutCas extends Cas {
     return casSet.set().stream().flatMap(cas -> cas.possessions().stream()).collect(toSet());
   }
 
+  @Override
+  public VerificationDesObjectifs verification() {
+    // The final objective is verified along with the objectives of every cas
+    var verificateurs = new ArrayList<VerificateurDesObjectifs>();
+    verificateurs.add(verificateur());
+    casSet.set().forEach(cas -> verificateurs.add(cas.verificateur()));
+    return journaliser(VerificateurDesObjectifs.verifier(verificateurs));
+  }
+
   @Override
   protected void suivi() {
     new Objectif(patrimoine, finSimulation, casSet.objectifFinal());
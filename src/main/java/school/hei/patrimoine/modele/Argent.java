@@ -7,20 +7,47 @@ import static school.hei.patrimoine.modele.Devise.MGA;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Objects;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.ToString;
 import lombok.experimental.Accessors;
 
-@ToString
-@AllArgsConstructor
 public class Argent implements Serializable {
-  private final double montant;
+  // Fixed-point amounts: long sums do not drift as doubles do
+  static final long UNITES_PAR_MONTANT = 10_000;
+
+  private final long unites;
 
   @Accessors(fluent = true)
   @Getter
   private final Devise devise;
 
+  public Argent(double montant, Devise devise) {
+    this(devise, arrondir(montant * UNITES_PAR_MONTANT));
+  }
+
+  private Argent(Devise devise, long unites) {
+    this.unites = unites;
+    this.devise = devise;
+  }
+
+  static Argent enUnites(long unites, Devise devise) {
+    return new Argent(devise, unites);
+  }
+
+  long unites() {
+    return unites;
+  }
+
+  // Math.round would turn NaN into 0 and saturate out of the long range
+  static long arrondir(double unites) {
+    if (!Double.isFinite(unites)) {
+      throw new IllegalArgumentException("Montant non fini: " + unites / UNITES_PAR_MONTANT);
+    }
+    if (Math.abs(unites) >= 0x1p63) {
+      throw new ArithmeticException("Montant hors limites: " + unites / UNITES_PAR_MONTANT);
+    }
+    return Math.round(unites);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -30,12 +57,17 @@ public class Argent implements Serializable {
         &&
         // we are only interested in major unit equality
         // eg: cents in EUR does NOT interest us
-        abs(montant - argent.montant) < 1;
+        abs(unites - argent.unites) < UNITES_PAR_MONTANT;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(montant, devise);
+    return Objects.hash(unites, devise);
+  }
+
+  @Override
+  public String toString() {
+    return "Argent(montant=" + montant() + ", devise=" + devise + ")";
   }
 
   public static Argent euro(double montant) {
@@ -47,39 +79,45 @@ public class Argent implements Serializable {
   }
 
   public Argent convertir(Devise autreDevise, LocalDate t) {
-    return new Argent(
-        (montant * devise.valeurEnAriary(t)) / autreDevise.valeurEnAriary(t), autreDevise);
+    if (devise == autreDevise || devise.equals(autreDevise)) {
+      return this;
+    }
+    return new Argent(montant() * TauxDeChangeTable.taux(devise, autreDevise, t), autreDevise);
   }
 
   public Argent mult(double d) {
-    return new Argent(montant * d, devise);
+    return new Argent(montant() * d, devise);
   }
 
   public Argent minus(Argent that, LocalDate t) {
-    return new Argent(montant - that.convertir(devise, t).montant, devise);
+    return new Argent(devise, Math.subtractExact(unites, that.convertir(devise, t).unites));
   }
 
   public Argent add(Argent that, LocalDate t) {
-    return new Argent(montant + that.convertir(devise, t).montant, devise);
+    return new Argent(devise, Math.addExact(unites, that.convertir(devise, t).unites));
   }
 
   public boolean gt(double n) {
-    return montant > n;
+    return montant() > n;
   }
 
   public boolean lt(double n) {
-    return montant < n;
+    return montant() < n;
   }
 
   public boolean le(double n) {
-    return montant <= n;
+    return montant() <= n;
   }
 
   public String ppMontant() {
-    return montant + "";
+    return montant() + "";
   }
 
   public boolean hasSameValeurComptable(Argent that, LocalDate t) {
     return that.convertir(devise, t).equals(this);
   }
+
+  private double montant() {
+    return (double) unites / UNITES_PAR_MONTANT;
+  }
 }
@@ -0,0 +1,39 @@
+package school.hei.patrimoine.modele;
+
+import java.time.LocalDate;
+
+public final class ArgentAccumulator {
+  private final Devise devise;
+  private final LocalDate t;
+  private long unites;
+
+  // Conversions at t are usually from one other devise: its rate is kept at hand
+  private Devise derniereDevise;
+  private double dernierTaux;
+
+  public ArgentAccumulator(Devise devise, LocalDate t) {
+    this.devise = devise;
+    this.t = t;
+  }
+
+  public ArgentAccumulator ajouter(Argent argent) {
+    if (argent.devise() == devise || argent.devise().equals(devise)) {
+      unites = Math.addExact(unites, argent.unites());
+    } else {
+      unites = Math.addExact(unites, Argent.arrondir(argent.unites() * taux(argent.devise())));
+    }
+    return this;
+  }
+
+  public Argent argent() {
+    return Argent.enUnites(unites, devise);
+  }
+
+  private double taux(Devise autreDevise) {
+    if (!autreDevise.equals(derniereDevise)) {
+      derniereDevise = autreDevise;
+      dernierTaux = TauxDeChangeTable.taux(autreDevise, devise, t);
+    }
+    return dernierTaux;
+  }
+}
@@ -0,0 +1,126 @@
+package school.hei.patrimoine.modele;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import school.hei.patrimoine.modele.possession.GrapheDeDependances;
+import school.hei.patrimoine.modele.possession.Possession;
+
+// Only values are kept: a projected possession would keep its original, the weak key, reachable
+public final class CacheDeProjections {
+  public static final int CAPACITE_PAR_DEFAUT = 10_000;
+
+  private static volatile CacheDeProjections actif;
+
+  private final ReferenceQueue<Possession> possessionsCollectees = new ReferenceQueue<>();
+  private final Map<Cle, Valeur> valeurs;
+  private final AtomicLong succes = new AtomicLong();
+  private final AtomicLong echecs = new AtomicLong();
+
+  private CacheDeProjections(int capacite) {
+    this.valeurs =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Cle, Valeur> eldest) {
+            return size() > capacite;
+          }
+        };
+  }
+
+  public static void activer(int capacite) {
+    if (capacite < 1) {
+      throw new IllegalArgumentException("La capacité doit être positive: " + capacite);
+    }
+    actif = new CacheDeProjections(capacite);
+  }
+
+  public static void desactiver() {
+    actif = null;
+  }
+
+  public static Statistiques statistiques() {
+    var cache = actif;
+    if (cache == null) {
+      return new Statistiques(0, 0, 0);
+    }
+    synchronized (cache.valeurs) {
+      cache.purger();
+      return new Statistiques(cache.succes.get(), cache.echecs.get(), cache.valeurs.size());
+    }
+  }
+
+  public static Argent valeurComptableFuture(Possession possession, LocalDate tFutur) {
+    var cache = actif;
+    return cache == null
+        ? possession.projectionFuture(tFutur).valeurComptable()
+        : cache.valeur(possession, tFutur);
+  }
+
+  // Possessions are immutable but for the flux added to their comptes: entries carry their versions
+  private Argent valeur(Possession possession, LocalDate tFutur) {
+    var versionDesComptes = GrapheDeDependances.versionDesComptes(possession);
+    if (versionDesComptes.isEmpty()) {
+      return possession.projectionFuture(tFutur).valeurComptable();
+    }
+
+    var version = versionDesComptes.getAsLong();
+    var cle = new Cle(possession, tFutur, null);
+    synchronized (valeurs) {
+      purger();
+      var valeur = valeurs.get(cle);
+      if (valeur != null && valeur.version() == version) {
+        succes.incrementAndGet();
+        return valeur.argent();
+      }
+    }
+
+    // Projected outside of the lock: projections of groups may be long
+    echecs.incrementAndGet();
+    var argent = possession.projectionFuture(tFutur).valeurComptable();
+    synchronized (valeurs) {
+      valeurs.put(new Cle(possession, tFutur, possessionsCollectees), new Valeur(argent, version));
+    }
+    return argent;
+  }
+
+  private void purger() {
+    for (var ref = possessionsCollectees.poll(); ref != null; ref = possessionsCollectees.poll()) {
+      valeurs.remove((Cle) ref);
+    }
+  }
+
+  public record Statistiques(long succes, long echecs, int taille) {}
+
+  private record Valeur(Argent argent, long version) {}
+
+  private static final class Cle extends WeakReference<Possession> {
+    private final int identite;
+    private final LocalDate t;
+
+    private Cle(Possession possession, LocalDate t, ReferenceQueue<Possession> queue) {
+      super(possession, queue);
+      this.identite = System.identityHashCode(possession);
+      this.t = t;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Cle autre)) {
+        return false;
+      }
+      var possession = get();
+      return possession != null && possession == autre.get() && t.equals(autre.t);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * identite + t.hashCode();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package school.hei.patrimoine.modele;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+// Dates as epoch days: LocalDate.MIN and MAX are used as bounds, hence longs rather than ints
+public final class Calendrier {
+  private static final int PREMIERE_ANNEE = 1900;
+  private static final int DERNIERE_ANNEE = 2300;
+  private static final long PREMIER_MOIS = PREMIERE_ANNEE * 12L;
+  private static final long[] PREMIERS_JOURS_DES_MOIS = premiersJoursDesMois();
+
+  private Calendrier() {}
+
+  private static long[] premiersJoursDesMois() {
+    var nbMois = (DERNIERE_ANNEE - PREMIERE_ANNEE + 1) * 12 + 1;
+    var premiersJours = new long[nbMois];
+    var mois = YearMonth.of(PREMIERE_ANNEE, 1);
+    for (int m = 0; m < nbMois; m++) {
+      premiersJours[m] = mois.atDay(1).toEpochDay();
+      mois = mois.plusMonths(1);
+    }
+    return premiersJours;
+  }
+
+  public static long mois(long jour) {
+    var premiersJours = PREMIERS_JOURS_DES_MOIS;
+    if (jour >= premiersJours[0] && jour < premiersJours[premiersJours.length - 1]) {
+      var i = Arrays.binarySearch(premiersJours, jour);
+      return PREMIER_MOIS + (i >= 0 ? i : -i - 2);
+    }
+    var date = LocalDate.ofEpochDay(jour);
+    return date.getYear() * 12L + date.getMonthValue() - 1;
+  }
+
+  public static long premierJour(long mois) {
+    var i = mois - PREMIER_MOIS;
+    if (i >= 0 && i < PREMIERS_JOURS_DES_MOIS.length) {
+      return PREMIERS_JOURS_DES_MOIS[(int) i];
+    }
+    return YearMonth.of((int) Math.floorDiv(mois, 12), (int) Math.floorMod(mois, 12) + 1)
+        .atDay(1)
+        .toEpochDay();
+  }
+
+  public static int longueur(long mois) {
+    var i = mois - PREMIER_MOIS;
+    if (i >= 0 && i + 1 < PREMIERS_JOURS_DES_MOIS.length) {
+      return (int) (PREMIERS_JOURS_DES_MOIS[(int) i + 1] - PREMIERS_JOURS_DES_MOIS[(int) i]);
+    }
+    return YearMonth.of((int) Math.floorDiv(mois, 12), (int) Math.floorMod(mois, 12) + 1)
+        .lengthOfMonth();
+  }
+
+  // Operations beyond the last day of a month fall on it
+  public static long jourDOperation(long mois, int dateOperation) {
+    return premierJour(mois) + Math.min(dateOperation, longueur(mois)) - 1;
+  }
+
+  public static long[] joursDOperation(long premierJour, long dernierJour, int dateOperation) {
+    if (dateOperation < 1 || premierJour > dernierJour) {
+      return new long[0];
+    }
+
+    var premierMois = mois(premierJour);
+    var dernierMois = mois(dernierJour);
+    var jours = new long[(int) (dernierMois - premierMois + 1)];
+    var nbJours = 0;
+    for (var mois = premierMois; mois <= dernierMois; mois++) {
+      var jour = jourDOperation(mois, dateOperation);
+      if (jour >= premierJour && jour <= dernierJour) {
+        jours[nbJours++] = jour;
+      }
+    }
+    return nbJours == jours.length ? jours : Arrays.copyOf(jours, nbJours);
+  }
+}
@@ -0,0 +1,145 @@
+package school.hei.patrimoine.modele;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public final class ContexteDeProjection implements AutoCloseable {
+  // Evolutions sweep dates in order: only the most recent projections are worth keeping
+  public static final int CAPACITE = 1_024;
+
+  private static final ThreadLocal<ContexteDeProjection> courant = new ThreadLocal<>();
+
+  private final Map<Cle, Patrimoine> projections =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Cle, Patrimoine> eldest) {
+          return size() > CAPACITE;
+        }
+      };
+  private final AtomicLong projectionsCalculees = new AtomicLong();
+  private final AtomicLong projectionsReutilisees = new AtomicLong();
+  private final PointsDeControle pointsDeControle;
+  private int ouvertures = 1;
+
+  private ContexteDeProjection(PointsDeControle pointsDeControle) {
+    this.pointsDeControle = pointsDeControle;
+  }
+
+  // A nested opening joins the outer contexte, along with its points de contrôle
+  public static ContexteDeProjection ouvrir() {
+    var existant = courant.get();
+    if (existant != null) {
+      existant.ouvertures++;
+      return existant;
+    }
+    return ouvrir(PointsDeControle.AUCUN);
+  }
+
+  public static ContexteDeProjection ouvrir(PointsDeControle pointsDeControle) {
+    var existant = courant.get();
+    if (existant != null) {
+      if (!existant.pointsDeControle.equals(pointsDeControle)) {
+        throw new IllegalStateException(
+            "Contexte déjà ouvert avec "
+                + existant.pointsDeControle
+                + ", impossible de l'ouvrir avec "
+                + pointsDeControle);
+      }
+      existant.ouvertures++;
+      return existant;
+    }
+
+    var contexte = new ContexteDeProjection(pointsDeControle);
+    courant.set(contexte);
+    return contexte;
+  }
+
+  public static ContexteDeProjection courant() {
+    return courant.get();
+  }
+
+  public static PointsDeControle pointsDeControle() {
+    var contexte = courant.get();
+    return contexte == null ? PointsDeControle.AUCUN : contexte.pointsDeControle;
+  }
+
+  public static Patrimoine projectionFuture(Patrimoine patrimoine, LocalDate tFutur) {
+    var contexte = courant.get();
+    return contexte == null
+        ? patrimoine.projectionFuture(tFutur)
+        : contexte.projection(patrimoine, tFutur);
+  }
+
+  public <T> T executer(Supplier<T> supplier) {
+    var precedent = courant.get();
+    courant.set(this);
+    try {
+      return supplier.get();
+    } finally {
+      if (precedent == null) {
+        courant.remove();
+      } else {
+        courant.set(precedent);
+      }
+    }
+  }
+
+  public long getProjectionsCalculees() {
+    return projectionsCalculees.get();
+  }
+
+  public long getProjectionsReutilisees() {
+    return projectionsReutilisees.get();
+  }
+
+  public int getProjectionsRetenues() {
+    synchronized (projections) {
+      return projections.size();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (--ouvertures == 0 && courant.get() == this) {
+      courant.remove();
+    }
+  }
+
+  private Patrimoine projection(Patrimoine patrimoine, LocalDate tFutur) {
+    var cle = new Cle(patrimoine, tFutur);
+    synchronized (projections) {
+      var projection = projections.get(cle);
+      if (projection != null) {
+        projectionsReutilisees.incrementAndGet();
+        return projection;
+      }
+    }
+
+    // Not computed under a lock: a patrimoine may hold the personal patrimoines of others
+    var projection = patrimoine.projectionFuture(tFutur);
+    synchronized (projections) {
+      var existante = projections.putIfAbsent(cle, projection);
+      if (existante != null) {
+        projectionsReutilisees.incrementAndGet();
+        return existante;
+      }
+    }
+    projectionsCalculees.incrementAndGet();
+    return projection;
+  }
+
+  private record Cle(Patrimoine patrimoine, LocalDate t) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Cle autre && patrimoine == autre.patrimoine && t.equals(autre.t);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(patrimoine) + t.hashCode();
+    }
+  }
+}
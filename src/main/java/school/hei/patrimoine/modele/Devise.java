@@ -2,7 +2,6 @@ package school.hei.patrimoine.modele;
 
 import static java.lang.Math.max;
 import static java.time.Month.JULY;
-import static java.time.temporal.ChronoUnit.DAYS;
 
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -16,7 +15,11 @@ public record Devise(
   public static final Devise CAD = new Devise("CAD", "$", LocalDate.of(2024, JULY, 8), 3_286, 0.03);
 
   public double valeurEnAriary(LocalDate now) {
-    var joursEcoules = DAYS.between(t, now);
+    return valeurEnAriary(now.toEpochDay());
+  }
+
+  public double valeurEnAriary(long jour) {
+    var joursEcoules = jour - t.toEpochDay();
     double valeurAjouteeJournaliere = valeurEnAriary * (tauxDappréciationAnnuel / 365.);
     return max(0, (int) (valeurEnAriary + valeurAjouteeJournaliere * joursEcoules));
   }
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -60,10 +61,11 @@ public final class Patrimoine extends Objectivable
   }
 
   public Argent getValeurComptable(Devise autreDevise) {
-    return possessions.stream()
+    var valeurComptable = new ArgentAccumulator(autreDevise, t);
+    possessions.stream()
         .filter(not(p -> p instanceof CompteCorrection))
-        .map(p -> p.valeurComptable().convertir(autreDevise, t))
-        .reduce(new Argent(0, autreDevise), (a1, a2) -> a1.add(a2, t));
+        .forEach(p -> valeurComptable.ajouter(p.valeurComptable()));
+    return valeurComptable.argent();
   }
 
   public Patrimoine projectionFuture(LocalDate tFutur) {
@@ -72,7 +74,17 @@ public final class Patrimoine extends Objectivable
         devise,
         tFutur,
         possesseurs,
-        possessions.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet()));
+        ProjectionParallele.projectionFuture(possessions, tFutur));
+  }
+
+  public Patrimoine projectionFuture(
+      LocalDate tFutur, Function<Possession, Possession> projectionDePossession) {
+    return new Patrimoine(
+        nom,
+        devise,
+        tFutur,
+        possesseurs,
+        possessions.stream().map(projectionDePossession).collect(toSet()));
   }
 
   public Possession possessionParNom(String nom) {
@@ -86,6 +98,6 @@ public final class Patrimoine extends Objectivable
 
   @Override
   public Argent valeurAObjectifT(LocalDate t) {
-    return projectionFuture(t).getValeurComptable();
+    return ContexteDeProjection.projectionFuture(this, t).getValeurComptable();
   }
 }
@@ -0,0 +1,19 @@
+package school.hei.patrimoine.modele;
+
+// Chosen per ContexteDeProjection: sessions jumping to arbitrary dates keep balances every few
+// months
+public record PointsDeControle(int moisParPointDeControle) {
+  public static final PointsDeControle AUCUN = new PointsDeControle(0);
+  public static final PointsDeControle TRIMESTRIELS = new PointsDeControle(3);
+
+  public PointsDeControle {
+    if (moisParPointDeControle < 0) {
+      throw new IllegalArgumentException(
+          "L'intervalle entre points de contrôle doit être positif: " + moisParPointDeControle);
+    }
+  }
+
+  public boolean actifs() {
+    return moisParPointDeControle > 0;
+  }
+}
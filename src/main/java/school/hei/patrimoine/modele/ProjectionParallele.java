@@ -0,0 +1,165 @@
+package school.hei.patrimoine.modele;
+
+import static java.util.stream.Collectors.toSet;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.GrapheDeDependances;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public final class ProjectionParallele {
+  public static final int SEUIL_PAR_DEFAUT = 64;
+  public static final int PARALLELISME_PAR_DEFAUT =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private static volatile ForkJoinPool pool;
+  private static volatile int seuil = SEUIL_PAR_DEFAUT;
+
+  private ProjectionParallele() {}
+
+  // Owns a bounded pool rather than sharing the common pool with the rest of the application
+  public static synchronized void activer(int parallelisme, int seuil) {
+    if (parallelisme < 1) {
+      throw new IllegalArgumentException("Le parallélisme doit être positif: " + parallelisme);
+    }
+    if (seuil < 1) {
+      throw new IllegalArgumentException("Le seuil doit être positif: " + seuil);
+    }
+    desactiver();
+    ProjectionParallele.seuil = seuil;
+    ProjectionParallele.pool =
+        new ForkJoinPool(
+            parallelisme,
+            p -> {
+              var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+              worker.setName("projection-parallele-" + worker.getPoolIndex());
+              return worker;
+            },
+            null,
+            false);
+  }
+
+  public static synchronized void desactiver() {
+    var poolCourant = pool;
+    pool = null;
+    if (poolCourant != null) {
+      poolCourant.shutdown();
+    }
+  }
+
+  public static int parallelisme() {
+    var poolCourant = pool;
+    return poolCourant == null ? 1 : poolCourant.getParallelism();
+  }
+
+  public static Set<Possession> projectionFuture(
+      Collection<Possession> possessions, LocalDate tFutur) {
+    var poolCourant = pool;
+    if (poolCourant == null || possessions.isEmpty() || possessions.size() < seuil) {
+      return possessions.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet());
+    }
+
+    var projection =
+        new ProjectionDeComposantes(composantes(possessions), tFutur, Portee.courante());
+    // Nested groups are projected from within the pool: fork there instead of resubmitting
+    return ForkJoinTask.getPool() == poolCourant
+        ? projection.invoke()
+        : poolCourant.invoke(projection);
+  }
+
+  static List<List<Possession>> composantes(Collection<Possession> possessions) {
+    var liste = List.copyOf(possessions);
+    var parents = new int[liste.size()];
+    var composanteParCompte = new IdentityHashMap<Compte, Integer>();
+    for (int i = 0; i < liste.size(); i++) {
+      parents[i] = i;
+      var index = i;
+      GrapheDeDependances.comptes(
+          liste.get(i),
+          compte -> {
+            var autre = composanteParCompte.putIfAbsent(compte, index);
+            if (autre != null) {
+              parents[racine(parents, autre)] = racine(parents, index);
+            }
+          });
+    }
+
+    var composantes = new LinkedHashMap<Integer, List<Possession>>();
+    for (int i = 0; i < liste.size(); i++) {
+      composantes.computeIfAbsent(racine(parents, i), r -> new ArrayList<>()).add(liste.get(i));
+    }
+    return List.copyOf(composantes.values());
+  }
+
+  private static int racine(int[] parents, int i) {
+    while (parents[i] != i) {
+      parents[i] = parents[parents[i]];
+      i = parents[i];
+    }
+    return i;
+  }
+
+  // Workers inherit neither the projection context nor the taux de change of the submitting thread
+  record Portee(ContexteDeProjection contexte, TauxDeChangeTable tauxDeChange) {
+    static Portee courante() {
+      return new Portee(ContexteDeProjection.courant(), TauxDeChangeTable.courante());
+    }
+
+    <T> T executer(Supplier<T> supplier) {
+      Supplier<T> dansLeContexte =
+          contexte == null || ContexteDeProjection.courant() == contexte
+              ? supplier
+              : () -> contexte.executer(supplier);
+      return tauxDeChange == null || TauxDeChangeTable.courante() == tauxDeChange
+          ? dansLeContexte.get()
+          : tauxDeChange.executer(dansLeContexte);
+    }
+  }
+
+  private static class ProjectionDeComposantes extends RecursiveTask<Set<Possession>> {
+    private final List<List<Possession>> composantes;
+    private final LocalDate tFutur;
+    private final Portee portee;
+
+    private ProjectionDeComposantes(
+        List<List<Possession>> composantes, LocalDate tFutur, Portee portee) {
+      this.composantes = composantes;
+      this.tFutur = tFutur;
+      this.portee = portee;
+    }
+
+    @Override
+    protected Set<Possession> compute() {
+      return portee.executer(this::projeter);
+    }
+
+    private Set<Possession> projeter() {
+      if (composantes.size() == 1) {
+        return composantes.getFirst().stream()
+            .map(p -> p.projectionFuture(tFutur))
+            .collect(toSet());
+      }
+
+      var milieu = composantes.size() / 2;
+      var gauche = new ProjectionDeComposantes(composantes.subList(0, milieu), tFutur, portee);
+      var droite =
+          new ProjectionDeComposantes(
+              composantes.subList(milieu, composantes.size()), tFutur, portee);
+      gauche.fork();
+      var projections = new HashSet<>(droite.compute());
+      projections.addAll(gauche.join());
+      return projections;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package school.hei.patrimoine.modele;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+// One table per simulation, keyed by devise: cross rates are divided on lookup
+public final class TauxDeChangeTable {
+  // Windows are bounded: simulations may end at LocalDate.MAX
+  private static final int JOURS_MAX = 366 * 50;
+
+  private static final ThreadLocal<TauxDeChangeTable> courante = new ThreadLocal<>();
+
+  private final List<Devise> devises;
+  private final long premierJour;
+  private final int nbJours;
+  private final double[][] valeursEnAriary;
+
+  private TauxDeChangeTable(List<Devise> devises, long premierJour, int nbJours) {
+    this.devises = devises;
+    this.premierJour = premierJour;
+    this.nbJours = nbJours;
+    this.valeursEnAriary = new double[devises.size()][nbJours];
+    for (int d = 0; d < devises.size(); d++) {
+      for (int j = 0; j < nbJours; j++) {
+        valeursEnAriary[d][j] = devises.get(d).valeurEnAriary(premierJour + j);
+      }
+    }
+  }
+
+  public static TauxDeChangeTable de(Collection<Devise> devises, LocalDate debut, LocalDate fin) {
+    var premierJour = debut.toEpochDay();
+    var nbJours = fin.isBefore(debut) ? 0 : Math.min(fin.toEpochDay() - premierJour + 1, JOURS_MAX);
+    return new TauxDeChangeTable(
+        List.copyOf(new LinkedHashSet<>(devises)), premierJour, (int) nbJours);
+  }
+
+  static TauxDeChangeTable courante() {
+    return courante.get();
+  }
+
+  public static double taux(Devise de, Devise vers, LocalDate t) {
+    return taux(de, vers, t.toEpochDay());
+  }
+
+  public static double taux(Devise de, Devise vers, long jour) {
+    var table = courante.get();
+    return table == null
+        ? de.valeurEnAriary(jour) / vers.valeurEnAriary(jour)
+        : table.tauxDuJour(de, vers, jour);
+  }
+
+  // Conversions made by the supplier on this thread read this table
+  public <T> T executer(Supplier<T> supplier) {
+    var precedente = courante.get();
+    courante.set(this);
+    try {
+      return supplier.get();
+    } finally {
+      if (precedente == null) {
+        courante.remove();
+      } else {
+        courante.set(precedente);
+      }
+    }
+  }
+
+  public double tauxDuJour(Devise de, Devise vers, long jour) {
+    var index = jour - premierJour;
+    if (index >= 0 && index < nbJours) {
+      var indexDe = index(de);
+      var indexVers = index(vers);
+      if (indexDe >= 0 && indexVers >= 0) {
+        return valeursEnAriary[indexDe][(int) index] / valeursEnAriary[indexVers][(int) index];
+      }
+    }
+    return de.valeurEnAriary(jour) / vers.valeurEnAriary(jour);
+  }
+
+  public double valeurEnAriary(Devise devise, LocalDate t) {
+    var jour = t.toEpochDay() - premierJour;
+    var index = index(devise);
+    return index >= 0 && jour >= 0 && jour < nbJours
+        ? valeursEnAriary[index][(int) jour]
+        : devise.valeurEnAriary(t);
+  }
+
+  public double[] valeursEnAriary(Devise devise, LocalDate debut, LocalDate fin) {
+    var index = index(devise);
+    var depuis = debut.toEpochDay() - premierJour;
+    var jusqua = fin.toEpochDay() - premierJour + 1;
+    if (index >= 0 && depuis >= 0 && jusqua <= nbJours) {
+      return Arrays.copyOfRange(valeursEnAriary[index], (int) depuis, (int) jusqua);
+    }
+
+    var valeurs = new double[(int) (fin.toEpochDay() - debut.toEpochDay() + 1)];
+    for (int j = 0; j < valeurs.length; j++) {
+      valeurs[j] = valeurEnAriary(devise, debut.plusDays(j));
+    }
+    return valeurs;
+  }
+
+  private int index(Devise devise) {
+    for (int i = 0; i < devises.size(); i++) {
+      if (devises.get(i) == devise) {
+        return i;
+      }
+    }
+    for (int i = 0; i < devises.size(); i++) {
+      if (devises.get(i).equals(devise)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -3,6 +3,7 @@ package school.hei.patrimoine.modele.decomposeur;
 import static school.hei.patrimoine.modele.decomposeur.PossessionDecomposeurFactory.normalize;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import school.hei.patrimoine.modele.possession.Compte;
@@ -16,10 +17,16 @@ public class FluxArgentDecomposeur extends PossessionDecomposeurBase<FluxArgent,
     super(finProjection);
   }
 
+  public FluxArgentDecomposeur(LocalDate debutRecoupement, LocalDate finProjection) {
+    super(debutRecoupement, finProjection);
+  }
+
   @Override
   public List<FluxArgent> apply(FluxArgent fluxArgent) {
     if (fluxArgent.getDebut().equals(fluxArgent.getFin())) {
-      return List.of(fluxArgent);
+      return fluxArgent.getDebut().isBefore(getDebutRecoupement())
+          ? List.of()
+          : List.of(fluxArgent);
     }
 
     var fin =
@@ -34,22 +41,19 @@ public class FluxArgentDecomposeur extends PossessionDecomposeurBase<FluxArgent,
       return List.of(fluxArgent);
     }
 
+    // Every occurrence of the window is matched right away: the window bounds them, not laziness
     var compte = fluxArgent.getCompte();
-    return fluxArgent
-        .getDebut()
-        .datesUntil(fin.plusDays(1))
-        .filter(
-            date ->
-                date.getDayOfMonth()
-                    == Math.min(fluxArgent.getDateOperation(), date.lengthOfMonth()))
-        .map(
-            date ->
-                new FluxArgent(
-                    normalize(fluxArgent.nom() + FLUX_ARGENT_DATE_SEPARATEUR + date),
-                    new Compte(
-                        compte.nom(), date, compte.valeurComptable()), // to avoid side effect
-                    date,
-                    fluxArgent.getFluxMensuel()))
-        .toList();
+    var jours = fluxArgent.joursDOperation(getDebutRecoupement().toEpochDay(), fin.toEpochDay());
+    var occurrences = new ArrayList<FluxArgent>(jours.length);
+    for (var jour : jours) {
+      var date = LocalDate.ofEpochDay(jour);
+      occurrences.add(
+          new FluxArgent(
+              normalize(fluxArgent.nom() + FLUX_ARGENT_DATE_SEPARATEUR + date),
+              new Compte(compte.nom(), date, compte.valeurComptable()), // to avoid side effect
+              date,
+              fluxArgent.getFluxMensuel()));
+    }
+    return occurrences;
   }
 }
@@ -11,12 +11,18 @@ public class GroupePossessionDecomposeur
     super(finSimulation);
   }
 
+  public GroupePossessionDecomposeur(LocalDate debutRecoupement, LocalDate finSimulation) {
+    super(debutRecoupement, finSimulation);
+  }
+
   @Override
   public List<Possession> apply(GroupePossession groupePossession) {
     return groupePossession.getPossessions().stream()
         .map(
             possession -> {
-              var decomposeur = PossessionDecomposeurFactory.make(possession, getFinSimulation());
+              var decomposeur =
+                  PossessionDecomposeurFactory.make(
+                      possession, getDebutRecoupement(), getFinSimulation());
               return decomposeur.apply(possession);
             })
         .flatMap(List::stream)
@@ -6,5 +6,7 @@ import java.util.function.Function;
 
 public interface PossessionDecomposeur<ToDecompose, Decomposed>
     extends Function<ToDecompose, List<Decomposed>> {
+  LocalDate getDebutRecoupement();
+
   LocalDate getFinSimulation();
 }
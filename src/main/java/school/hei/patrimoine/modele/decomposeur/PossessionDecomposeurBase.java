@@ -1,13 +1,23 @@
 package school.hei.patrimoine.modele.decomposeur;
 
 import java.time.LocalDate;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
-@RequiredArgsConstructor
+@AllArgsConstructor
 public abstract class PossessionDecomposeurBase<ToDecompose, Decomposed>
     implements PossessionDecomposeur<ToDecompose, Decomposed> {
+  private final LocalDate debutRecoupement;
   private final LocalDate finSimulation;
 
+  protected PossessionDecomposeurBase(LocalDate finSimulation) {
+    this(LocalDate.MIN, finSimulation);
+  }
+
+  @Override
+  public LocalDate getDebutRecoupement() {
+    return debutRecoupement;
+  }
+
   @Override
   public LocalDate getFinSimulation() {
     return finSimulation;
@@ -7,22 +7,28 @@ import school.hei.patrimoine.modele.possession.GroupePossession;
 import school.hei.patrimoine.modele.possession.Possession;
 
 public class PossessionDecomposeurFactory {
-  @SuppressWarnings("unchecked")
   public static <ToDecompose extends Possession, Decomposed extends Possession>
       PossessionDecomposeur<ToDecompose, Decomposed> make(
           ToDecompose possession, LocalDate finSimulation) {
+    return make(possession, LocalDate.MIN, finSimulation);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <ToDecompose extends Possession, Decomposed extends Possession>
+      PossessionDecomposeur<ToDecompose, Decomposed> make(
+          ToDecompose possession, LocalDate debutRecoupement, LocalDate finSimulation) {
 
     if (possession instanceof FluxArgent) {
       return (PossessionDecomposeur<ToDecompose, Decomposed>)
-          new FluxArgentDecomposeur(finSimulation);
+          new FluxArgentDecomposeur(debutRecoupement, finSimulation);
     }
 
     if (possession instanceof GroupePossession) {
       return (PossessionDecomposeur<ToDecompose, Decomposed>)
-          new GroupePossessionDecomposeur(finSimulation);
+          new GroupePossessionDecomposeur(debutRecoupement, finSimulation);
     }
 
-    return new PossessionDecomposeurBase<>(finSimulation) {
+    return new PossessionDecomposeurBase<>(debutRecoupement, finSimulation) {
       @Override
       public List<Decomposed> apply(ToDecompose toDecompose) {
         return List.of((Decomposed) toDecompose);
@@ -0,0 +1,149 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.stream.Collectors.toSet;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
+import static school.hei.patrimoine.modele.evolution.SerieComptableTemporelle.parseMontant;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.TauxDeChangeTable;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Possession;
+
+// Computes the series of an evolution troncon by troncon, on the executeur
+@Getter
+final class CalculDEvolution {
+  private final FluxCalendar fluxCalendar;
+  private final TauxDeChangeTable tauxDeChange;
+  private final long[] jours;
+  private final Argent[] valeursComptables;
+  private final Set<FluxJournalier> fluxJournaliers = new HashSet<>();
+  private final Set<FluxJournalier> fluxJournaliersImpossibles = new HashSet<>();
+  private final SerieComptableTemporelle serieComptableTemporelle;
+
+  CalculDEvolution(
+      Patrimoine patrimoine,
+      LocalDate debut,
+      LocalDate fin,
+      Resolution resolution,
+      Executor executeur,
+      int joursParTroncon,
+      Optional<RecalculIncremental> recalcul) {
+    if (joursParTroncon < 1) {
+      throw new IllegalArgumentException("joursParTroncon doit être positif: " + joursParTroncon);
+    }
+    this.fluxCalendar = new FluxCalendar(patrimoine);
+    this.tauxDeChange = TauxDeChangeTable.de(devises(patrimoine), debut, fin);
+    this.jours = resolution.jours(debut, fin);
+    this.valeursComptables = new Argent[jours.length];
+
+    var possessions =
+        patrimoine.getPossessions().stream()
+            .filter(p -> !(p instanceof FluxArgent)) // valeur comptable toujours 0
+            .toList();
+    var valeurs = new long[possessions.size()][];
+    var possessionsACalculer = new ArrayList<Possession>();
+    var valeursACalculer = new ArrayList<long[]>();
+    for (int j = 0; j < possessions.size(); j++) {
+      var possession = possessions.get(j);
+      valeurs[j] = recalcul.map(r -> r.valeurs(possession)).orElse(null);
+      if (valeurs[j] == null) {
+        valeurs[j] = new long[jours.length];
+        possessionsACalculer.add(possession);
+        valeursACalculer.add(valeurs[j]);
+      }
+    }
+    var patrimoineACalculer = recalcul.map(r -> r.aCalculer(patrimoine)).orElse(patrimoine);
+    var fluxCalendarACalculer =
+        recalcul.isPresent() ? new FluxCalendar(patrimoineACalculer) : fluxCalendar;
+
+    // Owners sharing a patrimoine project it once per date for the whole evolution
+    var seriesACalculer = valeursACalculer.toArray(long[][]::new);
+    try (var contexte = ContexteDeProjection.ouvrir()) {
+      var troncons = new ArrayList<CompletableFuture<Set<FluxJournalier>>>();
+      for (int i = 0; i < jours.length; i += joursParTroncon) {
+        var troncon =
+            new Troncon(
+                patrimoineACalculer,
+                fluxCalendarACalculer,
+                jours,
+                i,
+                (int) Math.min((long) i + joursParTroncon, jours.length),
+                possessionsACalculer,
+                seriesACalculer,
+                valeursComptables);
+        // Troncons write disjoint ranges of the series, published by join
+        troncons.add(
+            CompletableFuture.supplyAsync(
+                () -> contexte.executer(() -> tauxDeChange.executer(troncon)), executeur));
+      }
+      if (JOURNALIERE.equals(resolution)) {
+        troncons.forEach(t -> fluxJournaliers.addAll(join(t)));
+      } else {
+        // Sampled dates miss most flux: each account's ledger gives its balance on every flux date
+        troncons.forEach(CalculDEvolution::join);
+        fluxJournaliers.addAll(
+            tauxDeChange.executer(() -> fluxCalendarACalculer.fluxJournaliers(debut, fin)));
+      }
+      recalcul.ifPresent(
+          r -> {
+            r.ajusterValeursComptables(contexte, tauxDeChange, jours, valeursComptables);
+            fluxJournaliers.addAll(r.fluxJournaliersReutilisables());
+          });
+      fluxJournaliersImpossibles.addAll(impossibles(fluxJournaliers));
+    }
+
+    var valeursPatrimoine = new long[jours.length];
+    for (int i = 0; i < jours.length; i++) {
+      valeursPatrimoine[i] = parseMontant(valeursComptables[i]);
+    }
+    this.serieComptableTemporelle =
+        new SerieComptableTemporelle(
+            EvolutionPatrimoine.dates(jours), possessions, valeurs, valeursPatrimoine);
+  }
+
+  private static Set<Devise> devises(Patrimoine patrimoine) {
+    var devises = new HashSet<Devise>();
+    devises.add(patrimoine.getDevise());
+    patrimoine
+        .getPossessions()
+        .forEach(
+            p -> {
+              devises.add(p.devise());
+              if (p instanceof Compte compte) {
+                compte.getFluxArgents().forEach(f -> devises.add(f.getFluxMensuel().devise()));
+              }
+            });
+    return devises;
+  }
+
+  static Set<FluxJournalier> impossibles(Set<FluxJournalier> fluxJournaliers) {
+    return fluxJournaliers.stream()
+        .filter(fj -> !(fj.compte() instanceof Dette) && fj.compte().valeurComptable().lt(0))
+        .collect(toSet());
+  }
+
+  private static <T> T join(CompletableFuture<T> troncon) {
+    try {
+      return troncon.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.Comparator.comparingLong;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.CompteCorrection;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+public final class DetecteurDeFluxImpossibles {
+  private final List<Compte> comptes;
+  private final LocalDate finDesFlux;
+
+  public DetecteurDeFluxImpossibles(Patrimoine patrimoine) {
+    var comptes = new LinkedHashSet<Compte>();
+    patrimoine
+        .getPossessions()
+        .forEach(
+            p -> {
+              // Projections of obligations carry no flux, hence never had daily flux
+              if (p instanceof Dette || p instanceof Creance) {
+                return;
+              }
+              if (p instanceof Compte compte) {
+                comptes.add(compte);
+              } else if (p instanceof CompteCorrection compteCorrection) {
+                comptes.add(compteCorrection.getCompte());
+              }
+            });
+    this.comptes = List.copyOf(comptes);
+    this.finDesFlux =
+        this.comptes.stream()
+            .flatMap(c -> c.getFluxArgents().stream())
+            .map(FluxArgent::getFin)
+            .max(LocalDate::compareTo)
+            .orElse(LocalDate.MIN);
+  }
+
+  public static Optional<FluxJournalier> premierFluxImpossible(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    return fluxImpossibles(patrimoine, debut, fin, 1).stream().findFirst();
+  }
+
+  public static List<FluxJournalier> fluxImpossibles(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin, int budget) {
+    return new DetecteurDeFluxImpossibles(patrimoine).detecter(debut, fin, budget);
+  }
+
+  public List<FluxJournalier> detecter(LocalDate debut, LocalDate fin, int budget) {
+    if (budget < 1) {
+      throw new IllegalArgumentException("Le budget doit être positif: " + budget);
+    }
+
+    var impossibles = new ArrayList<FluxJournalier>();
+    var derniereDate = fin.isAfter(finDesFlux) ? finDesFlux : fin;
+    // Operations are built once per compte, then merged by date until the budget is spent
+    var curseurs =
+        new PriorityQueue<Curseur>(comparingLong(Curseur::jour).thenComparingInt(Curseur::rang));
+    for (int rang = 0; rang < comptes.size(); rang++) {
+      var curseur = new Curseur(rang, comptes.get(rang), debut, derniereDate);
+      if (curseur.avancer()) {
+        curseurs.add(curseur);
+      }
+    }
+    while (!curseurs.isEmpty()) {
+      var curseur = curseurs.poll();
+      var date = LocalDate.ofEpochDay(curseur.jour());
+      var flux = curseur.flux();
+      if (curseur.solde(date).lt(0)) {
+        impossibles.add(new FluxJournalier(date, curseur.compte.projectionFuture(date), flux));
+        if (impossibles.size() == budget) {
+          return impossibles;
+        }
+      }
+      if (curseur.avancer()) {
+        curseurs.add(curseur);
+      }
+    }
+    return impossibles;
+  }
+
+  private static final class Curseur {
+    private final int rang;
+    private final Compte compte;
+    private final Iterator<Map.Entry<Long, Set<FluxArgent>>> operations;
+    private Map.Entry<Long, Set<FluxArgent>> operation;
+    private Argent solde;
+
+    private Curseur(int rang, Compte compte, LocalDate debut, LocalDate derniereDate) {
+      this.rang = rang;
+      this.compte = compte;
+      var premierJour = Math.max(debut.toEpochDay(), compte.getDateOuverture().toEpochDay());
+      var operations = new TreeMap<Long, Set<FluxArgent>>();
+      for (var f : compte.getFluxArgents()) {
+        for (var jour : f.joursDOperation(premierJour, derniereDate.toEpochDay())) {
+          operations.computeIfAbsent(jour, j -> new LinkedHashSet<>()).add(f);
+        }
+      }
+      this.operations = operations.entrySet().iterator();
+    }
+
+    private boolean avancer() {
+      operation = operations.hasNext() ? operations.next() : null;
+      return operation != null;
+    }
+
+    private int rang() {
+      return rang;
+    }
+
+    private long jour() {
+      return operation.getKey();
+    }
+
+    private Set<FluxArgent> flux() {
+      return operation.getValue();
+    }
+
+    private Argent solde(LocalDate date) {
+      // Flux before t are not accounted for by the projection, and the first balance starts there
+      if (solde == null || date.isBefore(compte.t())) {
+        solde = compte.projectionFuture(date).valeurComptable();
+      } else {
+        for (var f : flux()) {
+          // Addition must be done at a given time since Devise fluctuates
+          solde = solde.add(f.getFluxMensuel(), date);
+        }
+      }
+      return solde;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public record EtatJournalier(
+    LocalDate date,
+    Argent valeurComptable,
+    Map<Possession, Argent> valeursComptables,
+    Set<FluxJournalier> fluxJournaliers) {}
@@ -1,87 +1,239 @@
 package school.hei.patrimoine.modele.evolution;
 
-import static java.util.stream.Collectors.toSet;
+import static java.util.Comparator.comparing;
+import static lombok.AccessLevel.NONE;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
 
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
 import school.hei.patrimoine.modele.Patrimoine;
-import school.hei.patrimoine.modele.possession.Compte;
-import school.hei.patrimoine.modele.possession.CompteCorrection;
-import school.hei.patrimoine.modele.possession.Dette;
-import school.hei.patrimoine.modele.possession.FluxArgent;
-import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.TauxDeChangeTable;
 
 @Getter
 @Slf4j
 public class EvolutionPatrimoine {
+  public static final int JOURS_PAR_TRONCON = 31;
+
   private final String nom;
   private final Patrimoine patrimoine;
   private final LocalDate debut;
   private final LocalDate fin;
-  private final Map<LocalDate, Patrimoine> evolutionJournaliere;
+  private final Resolution resolution;
   private final SerieComptableTemporelle serieComptableTemporelle;
   private final Set<FluxJournalier> fluxJournaliers;
   private final Set<FluxJournalier> fluxJournaliersImpossibles;
+  private final FluxCalendar fluxCalendar;
+
+  // Dates of the series as epoch days: LocalDate is only built where possessions are projected
+  @Getter(NONE)
+  private final long[] jours;
+
+  @Getter(NONE)
+  private final Argent[] valeursComptables;
+
+  // Scoped to this evolution: concurrent ones keep their own window and devises
+  @Getter(NONE)
+  private final TauxDeChangeTable tauxDeChange;
+
+  @Getter(NONE)
+  private Map<LocalDate, Patrimoine> evolutionJournaliere;
+
+  @Getter(NONE)
+  private NavigableMap<LocalDate, List<FluxJournalier>> fluxJournaliersParDate;
 
   public EvolutionPatrimoine(String nom, Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    this(nom, patrimoine, debut, fin, JOURNALIERE);
+  }
+
+  public EvolutionPatrimoine(
+      String nom, Patrimoine patrimoine, LocalDate debut, LocalDate fin, Resolution resolution) {
+    this(nom, patrimoine, debut, fin, resolution, Runnable::run, Integer.MAX_VALUE);
+  }
+
+  public EvolutionPatrimoine(
+      String nom, Patrimoine patrimoine, LocalDate debut, LocalDate fin, Executor executeur) {
+    this(nom, patrimoine, debut, fin, JOURNALIERE, executeur);
+  }
+
+  public EvolutionPatrimoine(
+      String nom,
+      Patrimoine patrimoine,
+      LocalDate debut,
+      LocalDate fin,
+      Resolution resolution,
+      Executor executeur) {
+    this(nom, patrimoine, debut, fin, resolution, executeur, JOURS_PAR_TRONCON);
+  }
+
+  public EvolutionPatrimoine(
+      String nom,
+      Patrimoine patrimoine,
+      LocalDate debut,
+      LocalDate fin,
+      Resolution resolution,
+      Executor executeur,
+      int joursParTroncon) {
+    this(
+        nom,
+        patrimoine,
+        debut,
+        fin,
+        resolution,
+        new CalculDEvolution(
+            patrimoine, debut, fin, resolution, executeur, joursParTroncon, Optional.empty()));
+  }
+
+  private EvolutionPatrimoine(
+      String nom,
+      Patrimoine patrimoine,
+      LocalDate debut,
+      LocalDate fin,
+      Resolution resolution,
+      CalculDEvolution calcul) {
     this.nom = nom;
     this.patrimoine = patrimoine;
     this.debut = debut;
     this.fin = fin;
-    this.evolutionJournaliere = evolutionJournaliere();
-    this.serieComptableTemporelle = new SerieComptableTemporelle(this, patrimoine.getDevise());
-    this.fluxJournaliers = fluxJournaliers();
-    this.fluxJournaliersImpossibles = fluxJournaliersImpossibles();
+    this.resolution = resolution;
+    this.fluxCalendar = calcul.getFluxCalendar();
+    this.tauxDeChange = calcul.getTauxDeChange();
+    this.jours = calcul.getJours();
+    this.valeursComptables = calcul.getValeursComptables();
+    this.fluxJournaliers = calcul.getFluxJournaliers();
+    this.fluxJournaliersImpossibles = calcul.getFluxJournaliersImpossibles();
+    this.serieComptableTemporelle = calcul.getSerieComptableTemporelle();
   }
 
-  private static boolean estDateDOperation(FluxArgent f, LocalDate t) {
-    return t.getDayOfMonth() == Math.min(f.getDateOperation(), t.lengthOfMonth())
-        && (f.getDebut().isBefore(t) || f.getDebut().isEqual(t))
-        && (f.getFin().isAfter(t) || f.getFin().isEqual(t));
+  public EvolutionPatrimoine recalculee(Patrimoine nouveauPatrimoine) {
+    return recalculee(nouveauPatrimoine, Runnable::run);
   }
 
-  private Set<FluxJournalier> fluxJournaliers() {
-    var res = new HashSet<FluxJournalier>();
-    evolutionJournaliere.forEach(
-        (date, patrimoine) -> patrimoine.getPossessions().forEach(p -> fluxDuJour(date, p, res)));
-    return res;
+  public EvolutionPatrimoine recalculee(Patrimoine nouveauPatrimoine, Executor executeur) {
+    return new EvolutionPatrimoine(
+        nom,
+        nouveauPatrimoine,
+        debut,
+        fin,
+        resolution,
+        new CalculDEvolution(
+            nouveauPatrimoine,
+            debut,
+            fin,
+            resolution,
+            executeur,
+            JOURS_PAR_TRONCON,
+            RecalculIncremental.de(this, nouveauPatrimoine)));
   }
 
-  private static void fluxDuJour(LocalDate date, Possession p, HashSet<FluxJournalier> res) {
-    if (p instanceof Compte compte) {
-      fluxDuJour(date, compte, res);
-    } else if (p instanceof CompteCorrection compteCorrection) {
-      fluxDuJour(date, compteCorrection.getCompte(), res);
+  Argent[] valeursComptables() {
+    return valeursComptables;
+  }
+
+  public static Stream<EtatJournalier> etatsJournaliers(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    return etatsJournaliers(
+        patrimoine, LongStream.rangeClosed(debut.toEpochDay(), fin.toEpochDay()).toArray());
+  }
+
+  public static Stream<EtatJournalier> etatsJournaliers(
+      Patrimoine patrimoine, List<LocalDate> datesCroissantes) {
+    return etatsJournaliers(
+        patrimoine, datesCroissantes.stream().mapToLong(LocalDate::toEpochDay).toArray());
+  }
+
+  private static Stream<EtatJournalier> etatsJournaliers(
+      Patrimoine patrimoine, long[] joursCroissants) {
+    if (joursCroissants.length == 0) {
+      return Stream.empty();
     }
+    var fluxCalendar = new FluxCalendar(patrimoine);
+    var projecteurJournalier =
+        new ProjecteurJournalier(
+            patrimoine,
+            LocalDate.ofEpochDay(joursCroissants[0]),
+            LocalDate.ofEpochDay(joursCroissants[joursCroissants.length - 1]));
+    return Arrays.stream(joursCroissants)
+        .mapToObj(LocalDate::ofEpochDay)
+        .map(
+            date ->
+                Troncon.etatJournalier(
+                    patrimoine, fluxCalendar, date, projecteurJournalier.projections(date)));
+  }
+
+  public Stream<EtatJournalier> etatsJournaliers() {
+    return etatsJournaliers(patrimoine, debut, fin);
   }
 
-  private static void fluxDuJour(LocalDate date, Compte compte, HashSet<FluxJournalier> res) {
-    var fluxJournalierADate =
-        compte.getFluxArgents().stream().filter(f -> estDateDOperation(f, date)).collect(toSet());
-    if (!fluxJournalierADate.isEmpty()) {
-      res.add(new FluxJournalier(date, compte, fluxJournalierADate));
+  // The flux computed with this evolution's taux de change, not projected again for each view
+  public synchronized List<FluxJournalier> fluxJournaliers(LocalDate debut, LocalDate fin) {
+    if (fin.isBefore(debut)) {
+      return List.of();
     }
+    if (fluxJournaliersParDate == null) {
+      fluxJournaliersParDate = new TreeMap<>();
+      fluxJournaliers.forEach(
+          fj -> fluxJournaliersParDate.computeIfAbsent(fj.date(), d -> new ArrayList<>()).add(fj));
+      fluxJournaliersParDate.values().forEach(fjs -> fjs.sort(comparing(fj -> fj.compte().nom())));
+    }
+    return fluxJournaliersParDate.subMap(debut, true, fin, true).values().stream()
+        .flatMap(List::stream)
+        .toList();
+  }
+
+  public synchronized Map<LocalDate, Patrimoine> getEvolutionJournaliere() {
+    if (evolutionJournaliere == null) {
+      evolutionJournaliere = new LinkedHashMap<>();
+      try (var contexte = ContexteDeProjection.ouvrir()) {
+        var projecteurJournalier = new ProjecteurJournalier(patrimoine, debut, fin);
+        tauxDeChange.executer(
+            () -> {
+              serieDates()
+                  .forEach(
+                      date ->
+                          evolutionJournaliere.put(
+                              date, projecteurJournalier.projectionFuture(date)));
+              return evolutionJournaliere;
+            });
+      }
+    }
+    return evolutionJournaliere;
   }
 
   public Set<FluxJournalier> fluxJournaliersImpossibles() {
-    return fluxJournaliers.stream()
-        .filter(fj -> !(fj.compte() instanceof Dette) && fj.compte().valeurComptable().lt(0))
-        .collect(toSet());
+    return CalculDEvolution.impossibles(fluxJournaliers);
   }
 
   public List<LocalDate> serieDates() {
-    return debut.datesUntil(fin.plusDays(1)).toList();
+    return dates(jours);
   }
 
-  private Map<LocalDate, Patrimoine> evolutionJournaliere() {
-    Map<LocalDate, Patrimoine> evolutionJournaliere = new HashMap<>();
-    serieDates().forEach(date -> evolutionJournaliere.put(date, patrimoine.projectionFuture(date)));
-    return evolutionJournaliere;
+  static List<LocalDate> dates(long[] jours) {
+    return new AbstractList<>() {
+      @Override
+      public LocalDate get(int i) {
+        return LocalDate.ofEpochDay(jours[i]);
+      }
+
+      @Override
+      public int size() {
+        return jours.length;
+      }
+    };
   }
 }
@@ -0,0 +1,153 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.CompteCorrection;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+public final class FluxCalendar {
+  // dateOperation beyond 31 always falls on the last day of the month
+  private static final int AU_DELA_DU_31 = 32;
+
+  private final Map<Compte, List<FluxArgent>[]> fluxParJourDuMois = new IdentityHashMap<>();
+  // Flux of all accounts by day of month: the days a flux may fall on
+  private final List<FluxArgent>[] tousParJourDuMois = nouveauxJours();
+
+  public FluxCalendar(Patrimoine patrimoine) {
+    patrimoine
+        .getPossessions()
+        .forEach(
+            p -> {
+              if (p instanceof Compte compte) {
+                indexer(compte);
+              } else if (p instanceof CompteCorrection compteCorrection) {
+                indexer(compteCorrection.getCompte());
+              }
+            });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<FluxArgent>[] nouveauxJours() {
+    return (List<FluxArgent>[]) new List[AU_DELA_DU_31 + 1];
+  }
+
+  private void indexer(Compte compte) {
+    if (fluxParJourDuMois.containsKey(compte)) {
+      return;
+    }
+
+    var jours = nouveauxJours();
+    for (var f : compte.getFluxArgents()) {
+      if (f.getDateOperation() < 1) {
+        continue;
+      }
+      var jour = Math.min(f.getDateOperation(), AU_DELA_DU_31);
+      ajouter(jours, jour, f);
+      ajouter(tousParJourDuMois, jour, f);
+    }
+    fluxParJourDuMois.put(compte, jours);
+  }
+
+  private static void ajouter(List<FluxArgent>[] jours, int jour, FluxArgent f) {
+    if (jours[jour] == null) {
+      jours[jour] = new ArrayList<>();
+    }
+    jours[jour].add(f);
+  }
+
+  public Set<FluxArgent> flux(Compte compte, LocalDate date) {
+    var jours = fluxParJourDuMois.get(compte);
+    var flux = new HashSet<FluxArgent>();
+    if (jours == null) {
+      return flux;
+    }
+
+    var jour = date.getDayOfMonth();
+    ajouter(jours[jour], date, flux);
+    if (jour == date.lengthOfMonth()) {
+      for (int j = jour + 1; j <= AU_DELA_DU_31; j++) {
+        ajouter(jours[j], date, flux);
+      }
+    }
+    return flux;
+  }
+
+  public Map<Compte, Set<FluxArgent>> flux(LocalDate date) {
+    var flux = new IdentityHashMap<Compte, Set<FluxArgent>>();
+    fluxParJourDuMois
+        .keySet()
+        .forEach(
+            compte -> {
+              var fluxDuCompte = flux(compte, date);
+              if (!fluxDuCompte.isEmpty()) {
+                flux.put(compte, fluxDuCompte);
+              }
+            });
+    return flux;
+  }
+
+  public NavigableSet<LocalDate> dates(LocalDate debut, LocalDate fin) {
+    var dates = new TreeSet<LocalDate>();
+    for (var mois = YearMonth.from(debut); !mois.atDay(1).isAfter(fin); mois = mois.plusMonths(1)) {
+      for (int jour = 1; jour <= AU_DELA_DU_31; jour++) {
+        var date = mois.atDay(Math.min(jour, mois.lengthOfMonth()));
+        if (!date.isBefore(debut)
+            && !date.isAfter(fin)
+            && !dates.contains(date)
+            && actif(tousParJourDuMois[jour], date)) {
+          dates.add(date);
+        }
+      }
+    }
+    return dates;
+  }
+
+  // Accounts are projected at each date their flux operate, once opened
+  public List<FluxJournalier> fluxJournaliers(LocalDate debut, LocalDate fin) {
+    var fluxJournaliers = new ArrayList<FluxJournalier>();
+    for (var date : dates(debut, fin)) {
+      flux(date)
+          .forEach(
+              (compte, flux) -> {
+                if (!date.isBefore(compte.getDateOuverture())) {
+                  fluxJournaliers.add(
+                      new FluxJournalier(date, compte.projectionFuture(date), flux));
+                }
+              });
+    }
+    return fluxJournaliers;
+  }
+
+  private static boolean actif(List<FluxArgent> candidats, LocalDate date) {
+    if (candidats == null) {
+      return false;
+    }
+    for (var f : candidats) {
+      if (!f.getDebut().isAfter(date) && !f.getFin().isBefore(date)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void ajouter(List<FluxArgent> candidats, LocalDate date, Set<FluxArgent> flux) {
+    if (candidats == null) {
+      return;
+    }
+    for (var f : candidats) {
+      if (!f.getDebut().isAfter(date) && !f.getFin().isBefore(date)) {
+        flux.add(f);
+      }
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Operations;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public class ProjecteurJournalier {
+  private final Patrimoine patrimoine;
+  private final Map<Possession, PossessionJournaliere> possessionsJournalieres =
+      new IdentityHashMap<>();
+  private LocalDate derniereDate;
+
+  public ProjecteurJournalier(Patrimoine patrimoine, LocalDate fin) {
+    this(patrimoine, null, fin);
+  }
+
+  // With points de contrôle, possessions start from their balance on the eve of debut
+  public ProjecteurJournalier(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    this.patrimoine = patrimoine;
+    var veille =
+        debut != null
+                && debut.isAfter(LocalDate.MIN)
+                && ContexteDeProjection.pointsDeControle().actifs()
+            ? debut.minusDays(1)
+            : null;
+    patrimoine
+        .getPossessions()
+        .forEach(p -> possessionsJournalieres.put(p, possessionJournaliere(p, veille, fin)));
+  }
+
+  public Patrimoine projectionFuture(LocalDate tFutur) {
+    var projections = projections(tFutur);
+    return patrimoine.projectionFuture(tFutur, projections::get);
+  }
+
+  public Map<Possession, Possession> projections(LocalDate tFutur) {
+    if (derniereDate != null && tFutur.isBefore(derniereDate)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Les projections journalières doivent être croissantes: %s après %s",
+              tFutur, derniereDate));
+    }
+    derniereDate = tFutur;
+    var projections = new IdentityHashMap<Possession, Possession>();
+    possessionsJournalieres.forEach((p, pj) -> projections.put(p, pj.projectionFuture(tFutur)));
+    return projections;
+  }
+
+  private static PossessionJournaliere possessionJournaliere(
+      Possession possession, LocalDate veille, LocalDate fin) {
+    if (possession instanceof Compte compte) {
+      return new CompteJournalier(compte, veille, fin);
+    }
+    if (possession instanceof FluxArgent fluxArgent) {
+      return new FluxArgentJournalier(fluxArgent, veille, fin);
+    }
+    if (possession instanceof GroupePossession groupePossession) {
+      return new GroupePossessionJournalier(groupePossession, veille, fin);
+    }
+    return possession::projectionFuture;
+  }
+
+  private static Operations operations(
+      Collection<FluxArgent> fluxArgents, LocalDate depuis, LocalDate fin) {
+    return Operations.de(fluxArgents, depuis.toEpochDay(), fin.toEpochDay());
+  }
+
+  private interface PossessionJournaliere {
+    Possession projectionFuture(LocalDate tFutur);
+  }
+
+  private static class Cumul {
+    private final Operations operations;
+    private Argent valeur;
+    private int prochaineOperation = 0;
+
+    private Cumul(Argent valeurInitiale, Operations operations) {
+      this.valeur = valeurInitiale;
+      this.operations = operations;
+    }
+
+    private Argent jusqua(LocalDate tFutur) {
+      var jourFutur = tFutur.toEpochDay();
+      while (prochaineOperation < operations.taille()
+          && operations.jour(prochaineOperation) <= jourFutur) {
+        var i = prochaineOperation++;
+        // Addition must be done at a given time since Devise fluctuates
+        valeur = valeur.add(operations.montant(i), LocalDate.ofEpochDay(operations.jour(i)));
+      }
+      return valeur;
+    }
+  }
+
+  private static class CompteJournalier implements PossessionJournaliere {
+    private final Compte compte;
+    private final Set<FluxArgent> fluxArgents;
+    private final Cumul cumul;
+
+    private CompteJournalier(Compte compte, LocalDate veille, LocalDate fin) {
+      this.compte = compte;
+      this.fluxArgents = unmodifiableSet(compte.getFluxArgents());
+      var debutDesOperations = compte.debutDesOperations();
+      if (veille != null
+          && !veille.isBefore(debutDesOperations)
+          && !veille.isBefore(compte.getDateOuverture())) {
+        // Projected from the nearest point de contrôle rather than replayed from t
+        this.cumul =
+            new Cumul(
+                compte.projectionFuture(veille).valeurComptable(),
+                operations(compte.getFluxArgents(), veille.plusDays(1), fin));
+      } else {
+        this.cumul =
+            new Cumul(
+                compte.valeurComptable(),
+                operations(compte.getFluxArgents(), debutDesOperations, fin));
+      }
+    }
+
+    @Override
+    public Compte projectionFuture(LocalDate tFutur) {
+      if (tFutur.isBefore(compte.getDateOuverture())) {
+        return compte.projectionFuture(tFutur);
+      }
+
+      var valeurFuture = cumul.jusqua(tFutur);
+      if (compte instanceof Dette) {
+        return new Dette(compte.nom(), tFutur, valeurFuture);
+      }
+      if (compte instanceof Creance) {
+        return new Creance(compte.nom(), tFutur, valeurFuture);
+      }
+      return Compte.projection(
+          compte.nom(), compte.getDateOuverture(), tFutur, valeurFuture, fluxArgents);
+    }
+  }
+
+  private static class FluxArgentJournalier implements PossessionJournaliere {
+    private final FluxArgent fluxArgent;
+    private final String nomCompteReduit;
+    private final LocalDate debutOperation;
+    private final Cumul cumul;
+
+    private FluxArgentJournalier(FluxArgent fluxArgent, LocalDate veille, LocalDate fin) {
+      var compte = fluxArgent.getCompte();
+      this.fluxArgent = fluxArgent;
+      this.nomCompteReduit = compte.nom() + " réduit au financement de " + fluxArgent;
+      this.debutOperation =
+          compte.t().isBefore(fluxArgent.getDebut()) ? fluxArgent.getDebut() : compte.t();
+      if (veille != null && !veille.isBefore(debutOperation)) {
+        // Occurrences up to the eve are counted from the month table
+        this.cumul =
+            new Cumul(
+                fluxArgent.projectionFuture(veille).getCompte().valeurComptable(),
+                operations(List.of(fluxArgent), veille.plusDays(1), fin));
+      } else {
+        this.cumul =
+            new Cumul(compte.valeurComptable(), operations(List.of(fluxArgent), compte.t(), fin));
+      }
+    }
+
+    @Override
+    public FluxArgent projectionFuture(LocalDate tFutur) {
+      var fin = fluxArgent.getFin();
+      var tFuturMajoréParFin = tFutur.isBefore(fin) ? tFutur : fin;
+      if (debutOperation.isAfter(tFuturMajoréParFin)) {
+        return fluxArgent;
+      }
+
+      return new FluxArgent(
+          fluxArgent.nom(),
+          new Compte(nomCompteReduit, tFutur, cumul.jusqua(tFuturMajoréParFin)),
+          fluxArgent.getDebut(),
+          tFuturMajoréParFin,
+          fluxArgent.getDateOperation(),
+          fluxArgent.getFluxMensuel());
+    }
+  }
+
+  private static class GroupePossessionJournalier implements PossessionJournaliere {
+    private final GroupePossession groupePossession;
+    private final List<PossessionJournaliere> possessionsJournalieres;
+
+    private GroupePossessionJournalier(
+        GroupePossession groupePossession, LocalDate veille, LocalDate fin) {
+      this.groupePossession = groupePossession;
+      this.possessionsJournalieres =
+          groupePossession.getPossessions().stream()
+              .map(p -> possessionJournaliere(p, veille, fin))
+              .toList();
+    }
+
+    @Override
+    public GroupePossession projectionFuture(LocalDate tFutur) {
+      return new GroupePossession(
+          groupePossession.nom(),
+          groupePossession.devise(),
+          tFutur,
+          possessionsJournalieres.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet()));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.stream.Collectors.toSet;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.TauxDeChangeTable;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GrapheDeDependances;
+import school.hei.patrimoine.modele.possession.Possession;
+
+// What a new evolution takes from the previous one: only the impacted possessions are recomputed
+final class RecalculIncremental {
+  private final EvolutionPatrimoine precedente;
+  private final GrapheDeDependances.Impact impact;
+  private final Map<Possession, long[]> valeursReutilisees;
+
+  private RecalculIncremental(
+      EvolutionPatrimoine precedente,
+      GrapheDeDependances.Impact impact,
+      Map<Possession, long[]> valeursReutilisees) {
+    this.precedente = precedente;
+    this.impact = impact;
+    this.valeursReutilisees = valeursReutilisees;
+  }
+
+  /** Empty when everything has to be recomputed. */
+  static Optional<RecalculIncremental> de(
+      EvolutionPatrimoine precedente, Patrimoine nouveauPatrimoine) {
+    var impact = GrapheDeDependances.impact(precedente.getPatrimoine(), nouveauPatrimoine);
+    if (impact.complet()) {
+      return Optional.empty();
+    }
+    var valeursReutilisees = new IdentityHashMap<Possession, long[]>();
+    for (var possession : nouveauPatrimoine.getPossessions()) {
+      if (possession instanceof FluxArgent || impact.apres().contains(possession)) {
+        continue;
+      }
+      var valeurs = valeursReutilisables(precedente, impact, possession);
+      if (valeurs == null) {
+        // Homonyms cannot be matched: everything is recomputed
+        return Optional.empty();
+      }
+      valeursReutilisees.put(possession, valeurs);
+    }
+    return Optional.of(new RecalculIncremental(precedente, impact, valeursReutilisees));
+  }
+
+  private static long[] valeursReutilisables(
+      EvolutionPatrimoine precedente, GrapheDeDependances.Impact impact, Possession possession) {
+    return precedente.getPatrimoine().getPossessions().stream()
+        .filter(
+            p ->
+                p.getClass().equals(possession.getClass())
+                    && p.nom().equals(possession.nom())
+                    && !impact.avant().contains(p))
+        .findFirst()
+        .map(precedente.getSerieComptableTemporelle()::valeurs)
+        .orElse(null);
+  }
+
+  /** Series of the previous evolution for an unchanged possession, null for an impacted one. */
+  long[] valeurs(Possession possession) {
+    return valeursReutilisees.get(possession);
+  }
+
+  Patrimoine aCalculer(Patrimoine nouveauPatrimoine) {
+    return sousPatrimoine(nouveauPatrimoine, impact.apres());
+  }
+
+  Set<FluxJournalier> fluxJournaliersReutilisables() {
+    var comptesImpactes = new HashSet<String>();
+    Stream.concat(impact.avant().stream(), impact.apres().stream())
+        .filter(p -> p instanceof Compte)
+        .forEach(p -> comptesImpactes.add(p.nom()));
+    return precedente.getFluxJournaliers().stream()
+        .filter(fj -> !comptesImpactes.contains(fj.compte().nom()))
+        .collect(toSet());
+  }
+
+  // Totals are sums over possessions: the previous one trades its changed terms for the new ones
+  void ajusterValeursComptables(
+      ContexteDeProjection contexte,
+      TauxDeChangeTable tauxDeChange,
+      long[] jours,
+      Argent[] valeursComptables) {
+    var anciennesValeurs = new Argent[valeursComptables.length];
+    var ancienSousPatrimoine = sousPatrimoine(precedente.getPatrimoine(), impact.avant());
+    var precedentesValeurs = precedente.valeursComptables();
+    tauxDeChange.executer(
+        () -> {
+          contexte.executer(
+              new Troncon(
+                  ancienSousPatrimoine,
+                  new FluxCalendar(ancienSousPatrimoine),
+                  jours,
+                  0,
+                  jours.length,
+                  List.of(),
+                  new long[0][],
+                  anciennesValeurs));
+          for (int i = 0; i < valeursComptables.length; i++) {
+            var date = LocalDate.ofEpochDay(jours[i]);
+            valeursComptables[i] =
+                precedentesValeurs[i]
+                    .minus(anciennesValeurs[i], date)
+                    .add(valeursComptables[i], date);
+          }
+          return valeursComptables;
+        });
+  }
+
+  private static Patrimoine sousPatrimoine(Patrimoine patrimoine, Set<Possession> impactees) {
+    return Patrimoine.of(
+        patrimoine.nom(),
+        patrimoine.getDevise(),
+        patrimoine.getT(),
+        Map.of(),
+        patrimoine.getPossessions().stream().filter(impactees::contains).collect(toSet()));
+  }
+}
@@ -0,0 +1,58 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+public record Resolution(Period pas, boolean finDeMois) {
+  public static final Resolution JOURNALIERE = new Resolution(Period.ofDays(1), false);
+  public static final Resolution HEBDOMADAIRE = new Resolution(Period.ofWeeks(1), false);
+  public static final Resolution FIN_DE_MOIS = new Resolution(Period.ofMonths(1), true);
+
+  public Resolution {
+    if (pas.isZero() || pas.isNegative()) {
+      throw new IllegalArgumentException("Le pas d'une résolution doit être positif: " + pas);
+    }
+    if (finDeMois && pas.getDays() != 0) {
+      throw new IllegalArgumentException("Les fins de mois avancent par mois entiers: " + pas);
+    }
+  }
+
+  public static Resolution pas(Period pas) {
+    return new Resolution(pas, false);
+  }
+
+  public long[] jours(LocalDate debut, LocalDate fin) {
+    if (JOURNALIERE.equals(this) && !fin.isBefore(debut)) {
+      return LongStream.rangeClosed(debut.toEpochDay(), fin.toEpochDay()).toArray();
+    }
+    return dates(debut, fin).stream().mapToLong(LocalDate::toEpochDay).toArray();
+  }
+
+  public List<LocalDate> dates(LocalDate debut, LocalDate fin) {
+    if (fin.isBefore(debut)) {
+      return List.of();
+    }
+    if (JOURNALIERE.equals(this)) {
+      return debut.datesUntil(fin.plusDays(1)).toList();
+    }
+
+    // Bounds are always sampled so that a graph starts and ends where it is asked to
+    var dates = new TreeSet<LocalDate>();
+    dates.add(debut);
+    if (finDeMois) {
+      for (var mois = YearMonth.from(debut);
+          !mois.atEndOfMonth().isAfter(fin);
+          mois = mois.plus(pas)) {
+        dates.add(mois.atEndOfMonth());
+      }
+    } else {
+      debut.datesUntil(fin, pas).forEach(dates::add);
+    }
+    dates.add(fin);
+    return List.copyOf(dates);
+  }
+}
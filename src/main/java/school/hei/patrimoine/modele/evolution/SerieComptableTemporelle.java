@@ -3,94 +3,108 @@ package school.hei.patrimoine.modele.evolution;
 import static java.lang.Double.parseDouble;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
-import lombok.AllArgsConstructor;
 import school.hei.patrimoine.modele.Argent;
-import school.hei.patrimoine.modele.Devise;
-import school.hei.patrimoine.modele.possession.FluxArgent;
 import school.hei.patrimoine.modele.possession.Possession;
 
-@AllArgsConstructor
 public class SerieComptableTemporelle {
-  private final EvolutionPatrimoine ep;
-  private final Devise devise;
+  private final List<LocalDate> dates;
+  private final Map<Possession, long[]> valeursParPossession;
+  private final long[] valeursPatrimoine;
 
-  private static int zeroIfNull(Integer integer) {
-    return integer == null ? 0 : integer;
+  SerieComptableTemporelle(
+      List<LocalDate> dates,
+      List<Possession> possessions,
+      long[][] valeursParPossession,
+      long[] valeursPatrimoine) {
+    this.dates = dates;
+    this.valeursParPossession = new HashMap<>();
+    for (int j = 0; j < possessions.size(); j++) {
+      this.valeursParPossession.put(possessions.get(j), valeursParPossession[j]);
+    }
+    this.valeursPatrimoine = valeursPatrimoine;
+  }
+
+  public SerieComptableTemporelle selon(Resolution resolution) {
+    if (dates.isEmpty()) {
+      return this;
+    }
+
+    var indexDesDates = new HashMap<LocalDate, Integer>();
+    for (int i = 0; i < dates.size(); i++) {
+      indexDesDates.put(dates.get(i), i);
+    }
+    var indices =
+        resolution.dates(dates.getFirst(), dates.getLast()).stream()
+            .filter(indexDesDates::containsKey)
+            .mapToInt(indexDesDates::get)
+            .toArray();
+    var possessions = List.copyOf(valeursParPossession.keySet());
+    var valeurs = new long[possessions.size()][];
+    for (int j = 0; j < possessions.size(); j++) {
+      valeurs[j] = echantillon(valeursParPossession.get(possessions.get(j)), indices);
+    }
+    return new SerieComptableTemporelle(
+        Arrays.stream(indices).mapToObj(dates::get).toList(),
+        possessions,
+        valeurs,
+        echantillon(valeursPatrimoine, indices));
+  }
+
+  private static long[] echantillon(long[] valeurs, int[] indices) {
+    var echantillon = new long[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      echantillon[i] = valeurs[indices[i]];
+    }
+    return echantillon;
+  }
+
+  long[] valeurs(Possession possession) {
+    return valeursParPossession.get(possession);
   }
 
   public List<LocalDate> serieDates() {
-    return ep.serieDates();
+    return dates;
   }
 
   public Map<Possession, List<Integer>> serieValeursComptablesParPossession() {
     var map = new HashMap<Possession, List<Integer>>();
-
-    for (var possession : ep.getPatrimoine().getPossessions()) {
-      if (possession instanceof FluxArgent) {
-        continue; // valeur comptable toujours 0
-      }
-      var serie = new ArrayList<Integer>();
-
-      serieDates()
-          .forEach(
-              d ->
-                  serie.add(
-                      parseMontant(
-                          ep.getEvolutionJournaliere()
-                              .get(d)
-                              .possessionParNom(possession.nom())
-                              .valeurComptable()
-                              .convertir(devise, d))));
-      map.put(possession, serie);
-    }
+    valeursParPossession.forEach((p, valeurs) -> map.put(p, new SerieEntiere(valeurs)));
     return map;
   }
 
   public List<Integer> serieParPossessionsFiltrées(Predicate<Possession> filtre) {
-    var serieParPossession = serieValeursComptablesParPossession();
-    List<List<Integer>> series = new ArrayList<>();
-    serieParPossession.forEach(
-        (p, serie) -> {
-          if (filtre.test(p)) {
-            series.add(serie);
-          }
-        });
-
-    if (series.isEmpty()) {
-      return List.of();
-    }
-    return series.stream()
-        .reduce(
-            Arrays.stream(new Integer[series.getFirst().size()]).toList(),
-            this::ajouteMembreAMembre);
+    return new SerieEntiere(valeursParPossessionsFiltrées(filtre));
   }
 
-  private List<Integer> ajouteMembreAMembre(List<Integer> l1, List<Integer> l2) {
-    List<Integer> res = new ArrayList<>();
-    for (int i = 0; i < l1.size(); i++) {
-      res.add(zeroIfNull(l1.get(i)) + zeroIfNull(l2.get(i)));
+  public List<Integer> serieValeursComptablesPatrimoine() {
+    return new SerieEntiere(valeursPatrimoine);
+  }
+
+  public long[] valeursParPossessionsFiltrées(Predicate<Possession> filtre) {
+    long[] somme = null;
+    for (var entry : valeursParPossession.entrySet()) {
+      if (!filtre.test(entry.getKey())) {
+        continue;
+      }
+      var valeurs = entry.getValue();
+      if (somme == null) {
+        somme = new long[valeurs.length];
+      }
+      for (int i = 0; i < valeurs.length; i++) {
+        somme[i] += valeurs[i];
+      }
     }
-    return res;
+    return somme == null ? new long[0] : somme;
   }
 
-  public List<Integer> serieValeursComptablesPatrimoine() {
-    var serie = new ArrayList<Integer>();
-    serieDates()
-        .forEach(
-            d ->
-                serie.add(
-                    parseMontant(
-                        ep.getEvolutionJournaliere()
-                            .get(d)
-                            .getValeurComptable()
-                            .convertir(devise, d))));
-    return serie;
+  public long[] valeursPatrimoine() {
+    return valeursPatrimoine.clone();
   }
 
   public static int parseMontant(Argent a) {
@@ -99,4 +113,22 @@ public class SerieComptableTemporelle {
     // ppMontant explicitely indicates that it should only be used for printing purpose.
     return (int) parseDouble(a.ppMontant());
   }
+
+  private static class SerieEntiere extends AbstractList<Integer> {
+    private final long[] valeurs;
+
+    private SerieEntiere(long[] valeurs) {
+      this.valeurs = valeurs;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return (int) valeurs[index];
+    }
+
+    @Override
+    public int size() {
+      return valeurs.length;
+    }
+  }
 }
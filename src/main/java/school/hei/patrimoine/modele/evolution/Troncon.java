@@ -0,0 +1,124 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static school.hei.patrimoine.modele.evolution.SerieComptableTemporelle.parseMontant;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.CompteCorrection;
+import school.hei.patrimoine.modele.possession.Possession;
+
+// Fills the series on the indices [de, a) of jours, and gives the flux met on the way
+final class Troncon implements Supplier<Set<FluxJournalier>> {
+  private final Patrimoine patrimoine;
+  private final FluxCalendar fluxCalendar;
+  private final long[] jours;
+  private final int de;
+  private final int a;
+  private final List<Possession> possessions;
+  private final long[][] valeurs;
+  private final Argent[] valeursComptables;
+
+  Troncon(
+      Patrimoine patrimoine,
+      FluxCalendar fluxCalendar,
+      long[] jours,
+      int de,
+      int a,
+      List<Possession> possessions,
+      long[][] valeurs,
+      Argent[] valeursComptables) {
+    this.patrimoine = patrimoine;
+    this.fluxCalendar = fluxCalendar;
+    this.jours = jours;
+    this.de = de;
+    this.a = a;
+    this.possessions = possessions;
+    this.valeurs = valeurs;
+    this.valeursComptables = valeursComptables;
+  }
+
+  @Override
+  public Set<FluxJournalier> get() {
+    var devise = patrimoine.getDevise();
+    var flux = new HashSet<FluxJournalier>();
+    if (de >= a) {
+      return flux;
+    }
+    var projecteurJournalier =
+        new ProjecteurJournalier(
+            patrimoine, LocalDate.ofEpochDay(jours[de]), LocalDate.ofEpochDay(jours[a - 1]));
+    for (int i = de; i < a; i++) {
+      var d = LocalDate.ofEpochDay(jours[i]);
+      var etat = etatJournalier(patrimoine, fluxCalendar, d, projecteurJournalier.projections(d));
+      flux.addAll(etat.fluxJournaliers());
+      valeursComptables[i] = etat.valeurComptable().convertir(devise, d);
+      for (int j = 0; j < possessions.size(); j++) {
+        valeurs[j][i] =
+            parseMontant(etat.valeursComptables().get(possessions.get(j)).convertir(devise, d));
+      }
+    }
+    return flux;
+  }
+
+  static EtatJournalier etatJournalier(
+      Patrimoine patrimoine,
+      FluxCalendar fluxCalendar,
+      LocalDate date,
+      Map<Possession, Possession> projections) {
+    var valeursComptables = new IdentityHashMap<Possession, Argent>();
+    var flux = new HashSet<FluxJournalier>();
+    projections.forEach(
+        (p, projection) -> {
+          valeursComptables.put(p, projection.valeurComptable());
+          fluxDuJour(fluxCalendar, date, p, projection, flux);
+        });
+    return new EtatJournalier(
+        date,
+        patrimoine.projectionFuture(date, projections::get).getValeurComptable(),
+        valeursComptables,
+        flux);
+  }
+
+  private static void fluxDuJour(
+      FluxCalendar fluxCalendar,
+      LocalDate date,
+      Possession p,
+      Possession projection,
+      Set<FluxJournalier> res) {
+    if (p instanceof Compte compte && projection instanceof Compte compteProjete) {
+      fluxDuJour(fluxCalendar, date, compte, compteProjete, res);
+    } else if (p instanceof CompteCorrection compteCorrection
+        && projection instanceof CompteCorrection compteCorrectionProjete) {
+      fluxDuJour(
+          fluxCalendar,
+          date,
+          compteCorrection.getCompte(),
+          compteCorrectionProjete.getCompte(),
+          res);
+    }
+  }
+
+  private static void fluxDuJour(
+      FluxCalendar fluxCalendar,
+      LocalDate date,
+      Compte compte,
+      Compte compteProjete,
+      Set<FluxJournalier> res) {
+    // Not yet opened accounts are projected without their flux
+    if (date.isBefore(compte.getDateOuverture())) {
+      return;
+    }
+    var fluxJournalierADate = fluxCalendar.flux(compte, date);
+    if (!fluxJournalierADate.isEmpty()) {
+      res.add(new FluxJournalier(date, compteProjete, fluxJournalierADate));
+    }
+  }
+}
@@ -15,7 +15,11 @@ public record Objectif(Objectivable objectivable, LocalDate t, Argent valeurComp
   }
 
   public Optional<ObjectifNonAtteint> verifier() {
-    if (!objectivable.valeurAObjectifT(t).hasSameValeurComptable(valeurComptable, t)) {
+    return verifier(objectivable.valeurAObjectifT(t));
+  }
+
+  public Optional<ObjectifNonAtteint> verifier(Argent valeurAtteinte) {
+    if (!valeurAtteinte.hasSameValeurComptable(valeurComptable, t)) {
       return Optional.of(new ObjectifNonAtteint(objectivable, this));
     }
 
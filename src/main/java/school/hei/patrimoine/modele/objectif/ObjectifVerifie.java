@@ -0,0 +1,6 @@
+package school.hei.patrimoine.modele.objectif;
+
+import java.time.Duration;
+import school.hei.patrimoine.modele.Argent;
+
+public record ObjectifVerifie(Objectif objectif, Argent valeurAtteinte, Duration duree) {}
@@ -1,5 +1,6 @@
 package school.hei.patrimoine.modele.objectif;
 
+import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toSet;
 
 import java.time.LocalDate;
@@ -18,6 +19,10 @@ public abstract class Objectivable {
     objectifs.add(objectif);
   }
 
+  public final Set<Objectif> getObjectifs() {
+    return unmodifiableSet(objectifs);
+  }
+
   public final Set<ObjectifNonAtteint> verifier() {
     return objectifs.stream().flatMap(o -> o.verifier().stream()).collect(toSet());
   }
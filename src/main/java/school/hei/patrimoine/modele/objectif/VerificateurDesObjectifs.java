@@ -0,0 +1,109 @@
+package school.hei.patrimoine.modele.objectif;
+
+import static java.util.Collections.newSetFromMap;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.evolution.ProjecteurJournalier;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public final class VerificateurDesObjectifs {
+  private final Patrimoine patrimoine;
+  private final Set<Objectivable> objectivables;
+  private final TreeMap<LocalDate, List<Objectif>> objectifsParDate = new TreeMap<>();
+
+  public VerificateurDesObjectifs(
+      Patrimoine patrimoine, Collection<? extends Objectivable> objectivables) {
+    this.patrimoine = patrimoine;
+    this.objectivables = newSetFromMap(new IdentityHashMap<>());
+    this.objectivables.addAll(objectivables);
+    this.objectivables.stream()
+        .flatMap(o -> o.getObjectifs().stream())
+        .forEach(o -> objectifsParDate.computeIfAbsent(o.t(), t -> new ArrayList<>()).add(o));
+  }
+
+  public VerificationDesObjectifs verifier() {
+    return verifier(List.of(this));
+  }
+
+  public static VerificationDesObjectifs verifier(
+      Collection<VerificateurDesObjectifs> verificateurs) {
+    // Verificateurs of a same patrimoine are merged, so that each patrimoine is swept once
+    var objectivablesParPatrimoine = new IdentityHashMap<Patrimoine, List<Objectivable>>();
+    verificateurs.forEach(
+        v ->
+            objectivablesParPatrimoine
+                .computeIfAbsent(v.patrimoine, p -> new ArrayList<>())
+                .addAll(v.objectivables));
+
+    var nonAtteints = new HashSet<ObjectifNonAtteint>();
+    var objectifsVerifies = new ArrayList<ObjectifVerifie>();
+    try (var contexte = ContexteDeProjection.ouvrir()) {
+      objectivablesParPatrimoine.forEach(
+          (patrimoine, objectivables) ->
+              new VerificateurDesObjectifs(patrimoine, objectivables)
+                  .verifier(nonAtteints, objectifsVerifies));
+    }
+    return new VerificationDesObjectifs(nonAtteints, objectifsVerifies);
+  }
+
+  private void verifier(
+      Set<ObjectifNonAtteint> nonAtteints, List<ObjectifVerifie> objectifsVerifies) {
+    if (objectifsParDate.isEmpty()) {
+      return;
+    }
+
+    // Each distinct date is projected once, in a single forward sweep
+    var projecteurJournalier =
+        new ProjecteurJournalier(
+            patrimoine, objectifsParDate.firstKey(), objectifsParDate.lastKey());
+    objectifsParDate.forEach(
+        (date, objectifs) -> {
+          var debutProjection = System.nanoTime();
+          var projections = projecteurJournalier.projections(date);
+          var projectionParObjectif = (System.nanoTime() - debutProjection) / objectifs.size();
+          Argent valeurPatrimoine = null;
+          for (var objectif : objectifs) {
+            var debut = System.nanoTime();
+            Argent valeurAtteinte;
+            if (objectif.objectivable() == patrimoine) {
+              if (valeurPatrimoine == null) {
+                valeurPatrimoine =
+                    patrimoine.projectionFuture(date, projections::get).getValeurComptable();
+              }
+              valeurAtteinte = valeurPatrimoine;
+            } else {
+              valeurAtteinte = valeurAtteinte(objectif, projections);
+            }
+            objectif.verifier(valeurAtteinte).ifPresent(nonAtteints::add);
+            objectifsVerifies.add(
+                new ObjectifVerifie(
+                    objectif,
+                    valeurAtteinte,
+                    Duration.ofNanos(System.nanoTime() - debut + projectionParObjectif)));
+          }
+        });
+  }
+
+  private static Argent valeurAtteinte(Objectif objectif, Map<Possession, Possession> projections) {
+    // Objectivables outside of the patrimoine are projected on their own
+    var projection =
+        objectif.objectivable() instanceof Possession possession
+            ? projections.get(possession)
+            : null;
+    return projection == null
+        ? objectif.objectivable().valeurAObjectifT(objectif.t())
+        : projection.valeurComptable();
+  }
+}
@@ -0,0 +1,7 @@
+package school.hei.patrimoine.modele.objectif;
+
+import java.util.List;
+import java.util.Set;
+
+public record VerificationDesObjectifs(
+    Set<ObjectifNonAtteint> nonAtteints, List<ObjectifVerifie> objectifsVerifies) {}
@@ -34,6 +34,10 @@ public final class AchatMaterielAuComptant extends Possession {
                     valeurComptableALAchat.mult(-1))));
   }
 
+  GroupePossession commeGroupe() {
+    return achatCommeGroupe;
+  }
+
   @Override
   public Possession projectionFuture(LocalDate tFutur) {
     return achatCommeGroupe.projectionFuture(tFutur);
@@ -1,21 +1,40 @@
 package school.hei.patrimoine.modele.possession;
 
-import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.NONE;
 import static school.hei.patrimoine.modele.possession.TypeAgregat.TRESORERIE;
 
 import java.time.LocalDate;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
 import lombok.ToString;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
 
 @ToString(callSuper = true)
 @Getter
 public sealed class Compte extends Possession permits Dette, Creance {
   private final LocalDate dateOuverture;
+  // Shared comptes are financed by corrections of distinct cas concurrently
   private final Set<FluxArgent> fluxArgents;
 
+  // Projections carry their flux along, but the operations of their day are already counted
+  @Getter(NONE)
+  private final LocalDate debutDesOperations;
+
+  @Getter(NONE)
+  @ToString.Exclude
+  private final AtomicLong version = new AtomicLong();
+
+  @Getter(NONE)
+  @ToString.Exclude
+  private transient volatile GrandLivre grandLivre;
+
+  @Getter(NONE)
+  @ToString.Exclude
+  private transient volatile LivreDePointsDeControle livreDePointsDeControle;
+
   public Compte(String nom, LocalDate t, Argent valeurComptable) {
     this(nom, t, t, valeurComptable);
   }
@@ -26,13 +45,36 @@ public sealed class Compte extends Possession permits Dette, Creance {
       LocalDate t,
       Argent valeurComptable,
       Set<FluxArgent> fluxArgents) {
+    this(nom, dateOuverture, t, valeurComptable, fluxArgents, t);
+  }
+
+  private Compte(
+      String nom,
+      LocalDate dateOuverture,
+      LocalDate t,
+      Argent valeurComptable,
+      Set<FluxArgent> fluxArgents,
+      LocalDate debutDesOperations) {
     super(nom, t, valeurComptable);
-    this.fluxArgents = fluxArgents;
+    this.fluxArgents = ConcurrentHashMap.newKeySet(fluxArgents.size());
+    this.fluxArgents.addAll(fluxArgents);
     this.dateOuverture = dateOuverture;
+    this.debutDesOperations = debutDesOperations;
+  }
+
+  // valeurComptable already holds the operations of t: replaying them again starts the day after
+  public static Compte projection(
+      String nom,
+      LocalDate dateOuverture,
+      LocalDate t,
+      Argent valeurComptable,
+      Set<FluxArgent> fluxArgents) {
+    var lendemain = t.equals(LocalDate.MAX) ? t : t.plusDays(1);
+    return new Compte(nom, dateOuverture, t, valeurComptable, fluxArgents, lendemain);
   }
 
   public Compte(String nom, LocalDate dateOuverture, LocalDate t, Argent valeurComptable) {
-    this(nom, dateOuverture, t, valeurComptable, new HashSet<>());
+    this(nom, dateOuverture, t, valeurComptable, Set.of());
   }
 
   @Override
@@ -41,12 +83,17 @@ public sealed class Compte extends Possession permits Dette, Creance {
       return new Compte(nom, tFutur, new Argent(0, valeurComptable.devise()));
     }
 
-    return new Compte(
-        nom,
-        dateOuverture,
-        tFutur,
-        valeurComptable.minus(financementsFuturs(tFutur), tFutur),
-        fluxArgents.stream().map(f -> f.projectionFuture(tFutur)).collect(toSet()));
+    var pointsDeControle = ContexteDeProjection.pointsDeControle();
+    var solde =
+        pointsDeControle.actifs()
+            ? livreDePointsDeControle(tFutur, pointsDeControle.moisParPointDeControle())
+                .solde(tFutur)
+            : grandLivre(tFutur).solde(tFutur);
+    return projection(nom, dateOuverture, tFutur, solde, fluxArgents);
+  }
+
+  public LocalDate debutDesOperations() {
+    return debutDesOperations;
   }
 
   @Override
@@ -54,16 +101,37 @@ public sealed class Compte extends Possession permits Dette, Creance {
     return TRESORERIE;
   }
 
-  private Argent financementsFuturs(LocalDate tFutur) {
-    return fluxArgents.stream()
-        .map(
-            f ->
-                valeurComptable.minus(
-                    f.projectionFuture(tFutur).getCompte().valeurComptable(), tFutur))
-        .reduce(new Argent(0, valeurComptable.devise()), (a1, a2) -> a1.add(a2, tFutur));
+  private GrandLivre grandLivre(LocalDate tFutur) {
+    var livre = grandLivre;
+    if (livre == null || !livre.estAJour(this)) {
+      livre = GrandLivre.vide(this);
+    }
+    if (!livre.couvre(tFutur)) {
+      livre = livre.etenduJusqua(tFutur);
+    }
+    grandLivre = livre;
+    return livre;
+  }
+
+  LivreDePointsDeControle livreDePointsDeControle(LocalDate tFutur, int moisParPointDeControle) {
+    var livre = livreDePointsDeControle;
+    if (livre == null || !livre.estAJour(this, moisParPointDeControle)) {
+      livre = LivreDePointsDeControle.vide(this, moisParPointDeControle);
+    }
+    livre = livre.etenduJusqua(tFutur);
+    livreDePointsDeControle = livre;
+    return livre;
+  }
+
+  // Bumped after each new flux: ledgers and cached projections built on an older version are stale
+  long version() {
+    return version.get();
   }
 
   void addFinancés(FluxArgent fluxArgent) {
     fluxArgents.add(fluxArgent);
+    version.incrementAndGet();
+    grandLivre = null;
+    livreDePointsDeControle = null;
   }
 }
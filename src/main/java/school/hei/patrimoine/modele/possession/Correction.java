@@ -3,12 +3,14 @@ package school.hei.patrimoine.modele.possession;
 import static school.hei.patrimoine.modele.possession.TypeAgregat.CORRECTION;
 
 import java.time.LocalDate;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Argent;
 
 public final class Correction extends Possession {
 
-  private final Possession possession;
+  @Getter private final Possession possession;
   private final CompteCorrection compteCorrection;
+  private final FluxArgent fluxDeCorrection;
 
   public Correction(FluxArgent fluxArgent) {
     super(
@@ -18,14 +20,15 @@ public final class Correction extends Possession {
     this.possession = fluxArgent.getCompte();
     this.compteCorrection = possession.getCompteCorrection();
 
-    new FluxArgent(
-        String.format(
-            "Correction.Flux[compteCorrection=%s,%s]", compteCorrection.nom, fluxArgent.nom),
-        compteCorrection.getCompte(),
-        fluxArgent.getDebut(),
-        fluxArgent.getFin(),
-        fluxArgent.getDateOperation(),
-        fluxArgent.getFluxMensuel());
+    this.fluxDeCorrection =
+        new FluxArgent(
+            String.format(
+                "Correction.Flux[compteCorrection=%s,%s]", compteCorrection.nom, fluxArgent.nom),
+            compteCorrection.getCompte(),
+            fluxArgent.getDebut(),
+            fluxArgent.getFin(),
+            fluxArgent.getDateOperation(),
+            fluxArgent.getFluxMensuel());
   }
 
   public Correction(Possession possession, String raison, LocalDate t, Argent valeur) {
@@ -37,22 +40,50 @@ public final class Correction extends Possession {
     this.possession = possession;
     this.compteCorrection = possession.getCompteCorrection();
 
-    new FluxArgent(
-        String.format("Correction.Flux[compteCorrection=%s,%s]", compteCorrection.nom, raison),
-        compteCorrection.getCompte(),
-        t,
-        valeur);
+    this.fluxDeCorrection =
+        new FluxArgent(
+            String.format("Correction.Flux[compteCorrection=%s,%s]", compteCorrection.nom, raison),
+            compteCorrection.getCompte(),
+            t,
+            valeur);
+  }
+
+  private Correction(Correction correction, Possession possession) {
+    super(correction.nom, correction.t, correction.valeurComptable);
+    this.possession = possession;
+    this.compteCorrection = possession.getCompteCorrection();
+
+    var flux = correction.fluxDeCorrection;
+    this.fluxDeCorrection =
+        new FluxArgent(
+            flux.nom,
+            compteCorrection.getCompte(),
+            flux.getDebut(),
+            flux.getFin(),
+            flux.getDateOperation(),
+            flux.getFluxMensuel());
   }
 
-  private Correction(Possession possession, CompteCorrection compteCorrection) {
+  private Correction(
+      Possession possession, CompteCorrection compteCorrection, FluxArgent fluxDeCorrection) {
     super(possession.nom, possession.t, possession.valeurComptable);
     this.possession = possession;
     this.compteCorrection = compteCorrection;
+    this.fluxDeCorrection = fluxDeCorrection;
+  }
+
+  // Same correction, financed on the CompteCorrection of another possession of the same name
+  public Correction rejouee(Possession possession) {
+    return new Correction(this, possession);
+  }
+
+  CompteCorrection compteCorrection() {
+    return compteCorrection;
   }
 
   @Override
   public Correction projectionFuture(LocalDate tFutur) {
-    return new Correction(possession.projectionFuture(tFutur), compteCorrection);
+    return new Correction(possession.projectionFuture(tFutur), compteCorrection, fluxDeCorrection);
   }
 
   @Override
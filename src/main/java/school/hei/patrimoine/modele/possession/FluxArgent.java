@@ -1,13 +1,16 @@
 package school.hei.patrimoine.modele.possession;
 
+import static lombok.AccessLevel.NONE;
 import static school.hei.patrimoine.modele.possession.TypeAgregat.FLUX;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import school.hei.patrimoine.Pair;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Calendrier;
 
 @ToString(callSuper = true)
 @Slf4j
@@ -19,6 +22,14 @@ public final class FluxArgent extends Possession {
   private final Argent fluxMensuel;
   private final int dateOperation;
 
+  @Getter(NONE)
+  @ToString.Exclude
+  private final long jourDebut;
+
+  @Getter(NONE)
+  @ToString.Exclude
+  private final long jourFin;
+
   public FluxArgent(
       String nom,
       Compte compte,
@@ -34,6 +45,8 @@ public final class FluxArgent extends Possession {
     this.fin = fin;
     this.fluxMensuel = fluxMensuel;
     this.dateOperation = dateOperation;
+    this.jourDebut = debut.toEpochDay();
+    this.jourFin = fin.toEpochDay();
   }
 
   public FluxArgent(String nom, Compte compte, LocalDate date, Argent montant) {
@@ -48,24 +61,34 @@ public final class FluxArgent extends Possession {
       return this;
     }
 
-    var valeurFutur =
-        debutOperationMinoréParDebut
-            .datesUntil(tFuturMajoréParFin.plusDays(1))
-            .filter(d -> d.getDayOfMonth() == Math.min(dateOperation, d.lengthOfMonth()))
-            .sorted()
-            .map(d -> Pair.of(fluxMensuel, d))
-            // Addition must be done at a given time since Devise fluctuates
-            // TODO: test with Transfert between Compte with different Devise
-            .reduce(Pair.of(compte.valeurComptable, t), FluxArgent::add)
-            .first();
+    var valeurFutur = compte.valeurComptable;
+    var joursDOperation =
+        joursDOperation(debutOperationMinoréParDebut.toEpochDay(), tFuturMajoréParFin.toEpochDay());
+    if (joursDOperation.length > 0 && valeurFutur.devise().equals(fluxMensuel.devise())) {
+      valeurFutur = valeurFutur.add(fluxMensuel.mult(joursDOperation.length), t);
+    } else {
+      // Addition must be done at a given time since Devise fluctuates
+      for (var jour : joursDOperation) {
+        valeurFutur = valeurFutur.add(fluxMensuel, LocalDate.ofEpochDay(jour));
+      }
+    }
     var argentFutur =
         new Compte(compte.nom + " réduit au financement de " + this, tFutur, valeurFutur);
     return new FluxArgent(nom, argentFutur, debut, tFuturMajoréParFin, dateOperation, fluxMensuel);
   }
 
-  private static Pair<Argent, LocalDate> add(
-      Pair<Argent, LocalDate> p1, Pair<Argent, LocalDate> p2) {
-    return Pair.of(p1.first().add(p2.first(), p2.second()), p2.second());
+  public List<LocalDate> datesDOperation(LocalDate depuis, LocalDate jusqua) {
+    var jours = joursDOperation(depuis.toEpochDay(), jusqua.toEpochDay());
+    var dates = new ArrayList<LocalDate>(jours.length);
+    for (var jour : jours) {
+      dates.add(LocalDate.ofEpochDay(jour));
+    }
+    return dates;
+  }
+
+  public long[] joursDOperation(long depuis, long jusqua) {
+    return Calendrier.joursDOperation(
+        Math.max(depuis, jourDebut), Math.min(jusqua, jourFin), dateOperation);
   }
 
   @Override
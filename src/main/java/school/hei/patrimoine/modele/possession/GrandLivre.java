@@ -0,0 +1,87 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.temporal.ChronoUnit.YEARS;
+import static java.util.Arrays.binarySearch;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import school.hei.patrimoine.modele.Argent;
+
+final class GrandLivre {
+  private final Compte compte;
+  private final long version;
+  private final LocalDate horizon;
+  private final LocalDate finFlux;
+  private final long[] jours;
+  private final Argent[] soldes;
+
+  private GrandLivre(
+      Compte compte,
+      long version,
+      LocalDate horizon,
+      LocalDate finFlux,
+      long[] jours,
+      Argent[] soldes) {
+    this.compte = compte;
+    this.version = version;
+    this.horizon = horizon;
+    this.finFlux = finFlux;
+    this.jours = jours;
+    this.soldes = soldes;
+  }
+
+  static GrandLivre vide(Compte compte) {
+    var version = compte.version();
+    var finFlux =
+        compte.getFluxArgents().stream()
+            .map(FluxArgent::getFin)
+            .max(LocalDate::compareTo)
+            .orElse(compte.t);
+    return new GrandLivre(compte, version, null, finFlux, new long[0], new Argent[0]);
+  }
+
+  boolean estAJour(Compte compte) {
+    return version == compte.version();
+  }
+
+  boolean couvre(LocalDate t) {
+    return horizon != null && (!t.isAfter(horizon) || !horizon.isBefore(finFlux));
+  }
+
+  GrandLivre etenduJusqua(LocalDate t) {
+    // Extend a year ahead: evolutions query consecutive days, and fin can be LocalDate.MAX
+    var nouvelHorizon = YEARS.between(t, finFlux) >= 1 ? t.plusYears(1) : finFlux;
+    if (nouvelHorizon.isBefore(t)) {
+      nouvelHorizon = t;
+    }
+
+    var depuis = horizon == null ? compte.debutDesOperations() : horizon.plusDays(1);
+    var operations =
+        Operations.de(compte.getFluxArgents(), depuis.toEpochDay(), nouvelHorizon.toEpochDay());
+
+    var nouveauxJours = Arrays.copyOf(jours, jours.length + operations.taille());
+    var nouveauxSoldes = Arrays.copyOf(soldes, soldes.length + operations.taille());
+    var solde = soldes.length == 0 ? compte.valeurComptable : soldes[soldes.length - 1];
+    for (int i = 0; i < operations.taille(); i++) {
+      var jour = operations.jour(i);
+      // Addition must be done at a given time since Devise fluctuates
+      solde = solde.add(operations.montant(i), LocalDate.ofEpochDay(jour));
+      nouveauxJours[jours.length + i] = jour;
+      nouveauxSoldes[soldes.length + i] = solde;
+    }
+    return new GrandLivre(compte, version, nouvelHorizon, finFlux, nouveauxJours, nouveauxSoldes);
+  }
+
+  Argent solde(LocalDate t) {
+    var jour = t.toEpochDay();
+    var i = binarySearch(jours, jour);
+    if (i >= 0) {
+      while (i + 1 < jours.length && jours[i + 1] == jour) {
+        i++;
+      }
+    } else {
+      i = -i - 2;
+    }
+    return i < 0 ? compte.valeurComptable : soldes[i];
+  }
+}
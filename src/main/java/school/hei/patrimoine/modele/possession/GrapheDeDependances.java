@@ -0,0 +1,278 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.objectif.Objectif;
+
+public final class GrapheDeDependances {
+  private final Patrimoine patrimoine;
+  // possession -> possessions whose value depends on it
+  private final Map<Possession, Set<Possession>> dependants = new IdentityHashMap<>();
+
+  public GrapheDeDependances(Patrimoine patrimoine) {
+    this.patrimoine = patrimoine;
+    patrimoine.getPossessions().forEach(this::visiter);
+  }
+
+  public record Impact(Set<Possession> avant, Set<Possession> apres, boolean complet) {
+    public boolean estVide() {
+      return !complet && avant.isEmpty() && apres.isEmpty();
+    }
+  }
+
+  public static Impact impact(Patrimoine avant, Patrimoine apres) {
+    var grapheAvant = new GrapheDeDependances(avant);
+    var grapheApres = new GrapheDeDependances(apres);
+    var parCleAvant = grapheAvant.parCle();
+    var parCleApres = grapheApres.parCle();
+    // Homonyms cannot be matched from one version to the other: everything is impacted
+    if (parCleAvant.size() < grapheAvant.dependants.size()
+        || parCleApres.size() < grapheApres.dependants.size()) {
+      return new Impact(grapheAvant.possessions(), grapheApres.possessions(), true);
+    }
+
+    var clesModifiees = new HashSet<Cle>();
+    parCleAvant.forEach(
+        (cle, p) -> {
+          var q = parCleApres.get(cle);
+          if (q == null || !signature(p).equals(signature(q))) {
+            clesModifiees.add(cle);
+          }
+        });
+    parCleApres.forEach(
+        (cle, q) -> {
+          // The value of a PersonneMorale depends on patrimoines outside of the graph
+          if (!parCleAvant.containsKey(cle) || q instanceof PersonneMorale) {
+            clesModifiees.add(cle);
+          }
+        });
+    // The totals sum top-level possessions: one moving in or out of a group changes them
+    var racinesAvant = cles(avant.getPossessions());
+    var racinesApres = cles(apres.getPossessions());
+    racinesAvant.stream().filter(cle -> !racinesApres.contains(cle)).forEach(clesModifiees::add);
+    racinesApres.stream().filter(cle -> !racinesAvant.contains(cle)).forEach(clesModifiees::add);
+    // A projected Correction equals its projected possession: both are summed together or not at
+    // all
+    Stream.of(parCleAvant, parCleApres)
+        .flatMap(parCle -> parCle.values().stream())
+        .filter(p -> p instanceof Correction && clesModifiees.contains(cle(p)))
+        .map(p -> cle(((Correction) p).getPossession()))
+        .toList()
+        .forEach(clesModifiees::add);
+
+    var clesImpactees = new HashSet<Cle>();
+    grapheAvant
+        .impactees(clesModifiees.stream().map(parCleAvant::get).filter(p -> p != null).toList())
+        .forEach(p -> clesImpactees.add(cle(p)));
+    grapheApres
+        .impactees(clesModifiees.stream().map(parCleApres::get).filter(p -> p != null).toList())
+        .forEach(p -> clesImpactees.add(cle(p)));
+    return new Impact(grapheAvant.selon(clesImpactees), grapheApres.selon(clesImpactees), false);
+  }
+
+  public Set<Possession> impactees(Collection<? extends Possession> modifiees) {
+    var impactees = identitySet();
+    var aVisiter = new ArrayDeque<Possession>(modifiees);
+    while (!aVisiter.isEmpty()) {
+      var p = aVisiter.poll();
+      if (impactees.add(p)) {
+        aVisiter.addAll(dependants.getOrDefault(p, Set.of()));
+      }
+    }
+    return impactees;
+  }
+
+  public Set<Compte> comptesImpactes(Collection<? extends Possession> modifiees) {
+    var comptes = newSetFromMap(new IdentityHashMap<Compte, Boolean>());
+    impactees(modifiees)
+        .forEach(
+            p -> {
+              if (p instanceof Compte compte) {
+                comptes.add(compte);
+              }
+            });
+    return comptes;
+  }
+
+  public Set<Objectif> objectifsImpactes(Collection<? extends Possession> modifiees) {
+    var impactees = impactees(modifiees);
+    var objectifs = new HashSet<Objectif>();
+    impactees.forEach(p -> objectifs.addAll(p.getObjectifs()));
+    if (!impactees.isEmpty()) {
+      objectifs.addAll(patrimoine.getObjectifs());
+    }
+    return objectifs;
+  }
+
+  // Comptes whose flux the projection of the possession reads: false if some are out of reach
+  public static boolean comptes(Possession possession, Consumer<Compte> consumer) {
+    return switch (possession) {
+      case Compte compte -> {
+        consumer.accept(compte);
+        yield true;
+      }
+      case FluxArgent fluxArgent -> {
+        consumer.accept(fluxArgent.getCompte());
+        yield true;
+      }
+      case CompteCorrection compteCorrection -> {
+        consumer.accept(compteCorrection.getCompte());
+        yield true;
+      }
+      case Correction correction -> {
+        consumer.accept(correction.compteCorrection().getCompte());
+        yield comptes(correction.getPossession(), consumer);
+      }
+      case GroupePossession groupe -> comptes(groupe.getPossessions(), consumer);
+      case TransfertArgent transfertArgent -> comptes(transfertArgent.commeGroupe(), consumer);
+      case RemboursementDette remboursementDette ->
+          comptes(remboursementDette.commeGroupe(), consumer);
+      case AchatMaterielAuComptant achatMaterielAuComptant ->
+          comptes(achatMaterielAuComptant.commeGroupe(), consumer);
+      case PatrimoinePersonnel patrimoinePersonnel ->
+          comptes(patrimoinePersonnel.patrimoine().getPossessions(), consumer);
+      // The patrimoines of a PersonneMorale are only known when projected
+      case PersonneMorale personneMorale -> false;
+      default -> true;
+    };
+  }
+
+  // Versions only grow: the sum changes as soon as a flux is added to one of the comptes
+  public static OptionalLong versionDesComptes(Possession possession) {
+    var version = new long[1];
+    return comptes(possession, compte -> version[0] += compte.version())
+        ? OptionalLong.of(version[0])
+        : OptionalLong.empty();
+  }
+
+  private static boolean comptes(Collection<Possession> possessions, Consumer<Compte> consumer) {
+    var tousConnus = true;
+    for (var possession : possessions) {
+      tousConnus &= comptes(possession, consumer);
+    }
+    return tousConnus;
+  }
+
+  private void visiter(Possession possession) {
+    if (dependants.containsKey(possession)) {
+      return;
+    }
+    dependants.put(possession, identitySet());
+
+    if (possession instanceof FluxArgent fluxArgent) {
+      dependre(fluxArgent.getCompte(), fluxArgent);
+    } else if (possession instanceof Compte compte) {
+      compte.getFluxArgents().forEach(this::visiter);
+    } else if (possession instanceof CompteCorrection compteCorrection) {
+      dependre(compteCorrection, compteCorrection.getCompte());
+    } else if (possession instanceof Correction correction) {
+      dependre(correction, correction.getPossession());
+      dependre(correction.compteCorrection(), correction);
+    } else if (possession instanceof GroupePossession groupePossession) {
+      groupePossession.getPossessions().forEach(p -> dependre(groupePossession, p));
+    } else if (possession instanceof TransfertArgent transfertArgent) {
+      dependre(transfertArgent, transfertArgent.commeGroupe());
+    } else if (possession instanceof RemboursementDette remboursementDette) {
+      dependre(remboursementDette, remboursementDette.commeGroupe());
+    } else if (possession instanceof AchatMaterielAuComptant achatMaterielAuComptant) {
+      dependre(achatMaterielAuComptant, achatMaterielAuComptant.commeGroupe());
+    } else if (possession instanceof PatrimoinePersonnel patrimoinePersonnel) {
+      patrimoinePersonnel
+          .patrimoine()
+          .getPossessions()
+          .forEach(p -> dependre(patrimoinePersonnel, p));
+    }
+  }
+
+  private void dependre(Possession dependant, Possession dependance) {
+    visiter(dependant);
+    visiter(dependance);
+    dependants.get(dependance).add(dependant);
+  }
+
+  private Map<Cle, Possession> parCle() {
+    var parCle = new HashMap<Cle, Possession>();
+    dependants.keySet().forEach(p -> parCle.putIfAbsent(cle(p), p));
+    return parCle;
+  }
+
+  private static Set<Cle> cles(Collection<Possession> possessions) {
+    return possessions.stream().map(GrapheDeDependances::cle).collect(toSet());
+  }
+
+  private Set<Possession> possessions() {
+    var possessions = identitySet();
+    possessions.addAll(dependants.keySet());
+    return possessions;
+  }
+
+  private Set<Possession> selon(Set<Cle> cles) {
+    var possessions = identitySet();
+    dependants.keySet().stream().filter(p -> cles.contains(cle(p))).forEach(possessions::add);
+    return possessions;
+  }
+
+  private record Cle(Class<?> type, String nom, String compte) {}
+
+  // Flux of distinct accounts may share a name
+  private static Cle cle(Possession possession) {
+    return new Cle(
+        possession.getClass(),
+        possession.nom(),
+        possession instanceof FluxArgent fluxArgent ? fluxArgent.getCompte().nom() : null);
+  }
+
+  private static List<Object> signature(Possession possession) {
+    if (possession instanceof FluxArgent fluxArgent) {
+      return Arrays.asList(
+          fluxArgent.getDebut(),
+          fluxArgent.getFin(),
+          fluxArgent.getDateOperation(),
+          montant(fluxArgent.getFluxMensuel()));
+    }
+    if (possession instanceof Compte compte) {
+      return Arrays.asList(
+          compte.t(), montant(compte.valeurComptable()), compte.getDateOuverture());
+    }
+    if (possession instanceof Materiel materiel) {
+      return Arrays.asList(
+          materiel.t(),
+          montant(materiel.valeurComptable()),
+          materiel.getDateAcquisition(),
+          materiel.getTauxDAppreciationAnnuelle());
+    }
+    if (possession instanceof GroupePossession groupePossession) {
+      return Arrays.asList(
+          groupePossession.t(),
+          montant(groupePossession.valeurComptable()),
+          groupePossession.getPossessions().stream()
+              .map(GrapheDeDependances::cle)
+              .collect(toSet()));
+    }
+    return Arrays.asList(possession.t(), montant(possession.valeurComptable()));
+  }
+
+  // Argent::equals tolerates rounding: edited amounts are compared as printed
+  private static List<Object> montant(Argent argent) {
+    return List.of(argent.ppMontant(), argent.devise());
+  }
+
+  private static Set<Possession> identitySet() {
+    return newSetFromMap(new IdentityHashMap<>());
+  }
+}
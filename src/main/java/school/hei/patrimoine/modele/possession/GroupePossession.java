@@ -7,30 +7,33 @@ import java.time.LocalDate;
 import java.util.Set;
 import lombok.Getter;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ArgentAccumulator;
 import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.ProjectionParallele;
 
 @Getter
 public final class GroupePossession extends Possession {
   private final Set<Possession> possessions;
 
   public GroupePossession(String nom, Devise devise, LocalDate t, Set<Possession> possessions) {
-    super(
-        nom,
-        t,
-        possessions.stream()
-            .map(Possession::valeurComptable)
-            .reduce(new Argent(0, devise), (a1, a2) -> a1.add(a2, t)));
+    super(nom, t, valeurComptable(possessions, devise, t));
     this.possessions = possessions;
     typeAgregat(possessions); // sanity check: fails if set is inconsistent
   }
 
+  private static Argent valeurComptable(Set<Possession> possessions, Devise devise, LocalDate t) {
+    var valeurComptable = new ArgentAccumulator(devise, t);
+    possessions.forEach(p -> valeurComptable.ajouter(p.valeurComptable()));
+    return valeurComptable.argent();
+  }
+
   @Override
   public GroupePossession projectionFuture(LocalDate tFutur) {
     return new GroupePossession(
         nom,
         valeurComptable.devise(),
         tFutur,
-        possessions.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet()));
+        ProjectionParallele.projectionFuture(possessions, tFutur));
   }
 
   @Override
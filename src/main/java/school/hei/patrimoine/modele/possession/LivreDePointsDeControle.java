@@ -0,0 +1,123 @@
+package school.hei.patrimoine.modele.possession;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Calendrier;
+
+// Soldes kept every few months only: projections replay the operations since the previous one
+final class LivreDePointsDeControle {
+  private final Compte compte;
+  private final long version;
+  private final int moisParPointDeControle;
+  private final long premierMois;
+  private final long dernierJourDeFlux;
+  // soldes[k]: solde before the operations of jour(k)
+  private final Argent[] soldes;
+
+  private LivreDePointsDeControle(
+      Compte compte,
+      long version,
+      int moisParPointDeControle,
+      long premierMois,
+      long dernierJourDeFlux,
+      Argent[] soldes) {
+    this.compte = compte;
+    this.version = version;
+    this.moisParPointDeControle = moisParPointDeControle;
+    this.premierMois = premierMois;
+    this.dernierJourDeFlux = dernierJourDeFlux;
+    this.soldes = soldes;
+  }
+
+  static LivreDePointsDeControle vide(Compte compte, int moisParPointDeControle) {
+    var version = compte.version();
+    var jourDeT = compte.debutDesOperations().toEpochDay();
+    var dernierJourDeFlux =
+        compte.getFluxArgents().stream()
+            .mapToLong(f -> f.getFin().toEpochDay())
+            .max()
+            .orElse(jourDeT);
+    // Accounts may start at LocalDate.MIN: points start with their first flux
+    var premierJourDeFlux =
+        compte.getFluxArgents().stream()
+            .mapToLong(f -> f.getDebut().toEpochDay())
+            .min()
+            .orElse(jourDeT);
+    return new LivreDePointsDeControle(
+        compte,
+        version,
+        moisParPointDeControle,
+        Calendrier.mois(Math.max(jourDeT, premierJourDeFlux)),
+        dernierJourDeFlux,
+        new Argent[] {compte.valeurComptable});
+  }
+
+  boolean estAJour(Compte compte, int moisParPointDeControle) {
+    return version == compte.version() && this.moisParPointDeControle == moisParPointDeControle;
+  }
+
+  int taille() {
+    return soldes.length;
+  }
+
+  LivreDePointsDeControle etenduJusqua(LocalDate t) {
+    var jour = t.toEpochDay();
+    var k = soldes.length - 1;
+    if (jour(k + 1) > jour || jour(k) > dernierJourDeFlux) {
+      return this;
+    }
+
+    var nouveauxSoldes = Arrays.copyOf(soldes, soldes.length);
+    var nbSoldes = soldes.length;
+    while (jour(k + 1) <= jour && jour(k) <= dernierJourDeFlux) {
+      if (nbSoldes == nouveauxSoldes.length) {
+        nouveauxSoldes = Arrays.copyOf(nouveauxSoldes, 2 * nbSoldes);
+      }
+      nouveauxSoldes[nbSoldes++] = rejouer(nouveauxSoldes[k], jour(k), jour(k + 1) - 1);
+      k++;
+    }
+    return new LivreDePointsDeControle(
+        compte,
+        version,
+        moisParPointDeControle,
+        premierMois,
+        dernierJourDeFlux,
+        Arrays.copyOf(nouveauxSoldes, nbSoldes));
+  }
+
+  Argent solde(LocalDate t) {
+    var jour = t.toEpochDay();
+    if (jour < jour(0)) {
+      return soldes[0];
+    }
+    // Flux may start intervals after t: dates before the first point replay from soldes[0]
+    var k =
+        (int)
+            Math.max(
+                0,
+                Math.min(
+                    (Calendrier.mois(jour) - premierMois) / moisParPointDeControle,
+                    soldes.length - 1));
+    while (jour(k) > jour) {
+      k--;
+    }
+    return rejouer(soldes[k], jour(k), jour);
+  }
+
+  private long jour(int k) {
+    return k == 0
+        ? compte.debutDesOperations().toEpochDay()
+        : Calendrier.premierJour(premierMois + (long) k * moisParPointDeControle);
+  }
+
+  private Argent rejouer(Argent solde, long depuis, long jusqua) {
+    for (var f : compte.getFluxArgents()) {
+      for (var jour : f.joursDOperation(depuis, jusqua)) {
+        // Addition must be done at a given time since Devise fluctuates
+        solde = solde.add(f.getFluxMensuel(), LocalDate.ofEpochDay(jour));
+      }
+    }
+    return solde;
+  }
+}
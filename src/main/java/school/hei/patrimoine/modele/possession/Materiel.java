@@ -1,11 +1,12 @@
 package school.hei.patrimoine.modele.possession;
 
-import static java.time.temporal.ChronoUnit.DAYS;
 import static school.hei.patrimoine.modele.possession.TypeAgregat.IMMOBILISATION;
 
 import java.time.LocalDate;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Argent;
 
+@Getter
 public final class Materiel extends Possession {
   private final LocalDate dateAcquisition;
   private final double tauxDAppreciationAnnuelle;
@@ -31,9 +32,10 @@ public final class Materiel extends Possession {
           new Argent(0, valeurComptable.devise()),
           tauxDAppreciationAnnuelle);
     }
-    var joursEcoules = DAYS.between(t, tFutur);
-    var valeurAjouteeJournaliere = valeurComptable.mult((tauxDAppreciationAnnuelle / 365.));
-    var valeurFutureUnbound = valeurComptable.add(valeurAjouteeJournaliere.mult(joursEcoules), t);
+    var joursEcoules = tFutur.toEpochDay() - t.toEpochDay();
+    // Rounded once: a rounded daily value would be multiplied by the elapsed days
+    var valeurAjoutee = valeurComptable.mult((tauxDAppreciationAnnuelle / 365.) * joursEcoules);
+    var valeurFutureUnbound = valeurComptable.add(valeurAjoutee, t);
     return new Materiel(
         nom,
         dateAcquisition,
@@ -0,0 +1,59 @@
+package school.hei.patrimoine.modele.possession;
+
+import java.util.Arrays;
+import java.util.Collection;
+import school.hei.patrimoine.modele.Argent;
+
+public final class Operations {
+  private final long[] jours;
+  private final Argent[] montants;
+
+  private Operations(long[] jours, Argent[] montants) {
+    this.jours = jours;
+    this.montants = montants;
+  }
+
+  public static Operations de(Collection<FluxArgent> fluxArgents, long depuis, long jusqua) {
+    var flux = fluxArgents.toArray(FluxArgent[]::new);
+    var joursParFlux = new long[flux.length][];
+    var nbOperations = 0;
+    var premierJour = Long.MAX_VALUE;
+    for (int f = 0; f < flux.length; f++) {
+      joursParFlux[f] = flux[f].joursDOperation(depuis, jusqua);
+      nbOperations += joursParFlux[f].length;
+      if (joursParFlux[f].length > 0) {
+        premierJour = Math.min(premierJour, joursParFlux[f][0]);
+      }
+    }
+
+    // Sorted on primitive keys: operations of the same day keep the order of the flux
+    var cles = new long[nbOperations];
+    var i = 0;
+    for (int f = 0; f < flux.length; f++) {
+      for (var jour : joursParFlux[f]) {
+        cles[i++] = (jour - premierJour) * flux.length + f;
+      }
+    }
+    Arrays.sort(cles);
+
+    var jours = new long[nbOperations];
+    var montants = new Argent[nbOperations];
+    for (i = 0; i < nbOperations; i++) {
+      jours[i] = cles[i] / flux.length + premierJour;
+      montants[i] = flux[(int) (cles[i] % flux.length)].getFluxMensuel();
+    }
+    return new Operations(jours, montants);
+  }
+
+  public int taille() {
+    return jours.length;
+  }
+
+  public long jour(int i) {
+    return jours[i];
+  }
+
+  public Argent montant(int i) {
+    return montants[i];
+  }
+}
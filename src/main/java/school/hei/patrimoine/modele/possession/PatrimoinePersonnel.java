@@ -4,6 +4,7 @@ import static school.hei.patrimoine.modele.possession.TypeAgregat.PATRIMOINE;
 
 import java.time.LocalDate;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.Personne;
 
@@ -21,6 +22,10 @@ public final class PatrimoinePersonnel extends Possession {
     this.personne = personne;
   }
 
+  Patrimoine patrimoine() {
+    return patrimoine;
+  }
+
   @Override
   public Argent valeurComptable() {
     var valeurComptablePourToutPossesseurs = super.valeurComptable();
@@ -30,7 +35,8 @@ public final class PatrimoinePersonnel extends Possession {
 
   @Override
   public Possession projectionFuture(LocalDate tFutur) {
-    return new PatrimoinePersonnel(patrimoine.projectionFuture(tFutur), personne);
+    return new PatrimoinePersonnel(
+        ContexteDeProjection.projectionFuture(patrimoine, tFutur), personne);
   }
 
   @Override
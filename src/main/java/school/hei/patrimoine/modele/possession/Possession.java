@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.CacheDeProjections;
 import school.hei.patrimoine.modele.Devise;
 import school.hei.patrimoine.modele.objectif.Objectivable;
 
@@ -26,7 +27,7 @@ public abstract sealed class Possession extends Objectivable
   protected final String nom;
   protected final LocalDate t;
   protected final Argent valeurComptable;
-  @EqualsAndHashCode.Exclude @ToString.Exclude private CompteCorrection compteCorrection;
+  @EqualsAndHashCode.Exclude @ToString.Exclude private volatile CompteCorrection compteCorrection;
 
   public Possession(String nom, LocalDate t, Argent valeurComptable) {
     super();
@@ -35,11 +36,19 @@ public abstract sealed class Possession extends Objectivable
     this.valeurComptable = valeurComptable;
   }
 
+  // Shared by the corrections of concurrent reconciliations: it must be created only once
   public CompteCorrection getCompteCorrection() {
-    if (compteCorrection == null) {
-      compteCorrection = new CompteCorrection(nom, valeurComptable.devise());
+    var courant = compteCorrection;
+    if (courant == null) {
+      synchronized (this) {
+        courant = compteCorrection;
+        if (courant == null) {
+          courant = new CompteCorrection(nom, valeurComptable.devise());
+          compteCorrection = courant;
+        }
+      }
     }
-    return compteCorrection;
+    return courant;
   }
 
   public Argent valeurComptable() {
@@ -55,7 +64,7 @@ public abstract sealed class Possession extends Objectivable
   }
 
   public final Argent valeurComptableFuture(LocalDate tFutur) {
-    return projectionFuture(tFutur).valeurComptable();
+    return CacheDeProjections.valeurComptableFuture(this, tFutur);
   }
 
   public abstract Possession projectionFuture(LocalDate tFutur);
@@ -69,6 +78,6 @@ public abstract sealed class Possession extends Objectivable
 
   @Override
   public Argent valeurAObjectifT(LocalDate t) {
-    return projectionFuture(t).valeurComptable;
+    return CacheDeProjections.valeurComptableFuture(this, t);
   }
 }
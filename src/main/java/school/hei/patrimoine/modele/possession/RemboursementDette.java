@@ -34,6 +34,10 @@ public final class RemboursementDette extends Possession {
     this.commeGroupe = commeGroupe;
   }
 
+  GroupePossession commeGroupe() {
+    return commeGroupe;
+  }
+
   @Override
   public RemboursementDette projectionFuture(LocalDate tFutur) {
     return new RemboursementDette(commeGroupe.projectionFuture(tFutur));
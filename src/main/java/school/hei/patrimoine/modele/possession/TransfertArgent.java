@@ -45,6 +45,10 @@ public final class TransfertArgent extends Possession {
     this(nom, depuisCompte, versCompte, t, t, t.getDayOfMonth(), fluxMensuel);
   }
 
+  GroupePossession commeGroupe() {
+    return transfertCommeGroupe;
+  }
+
   @Override
   public Possession projectionFuture(LocalDate tFutur) {
     return transfertCommeGroupe.projectionFuture(tFutur);
@@ -0,0 +1,81 @@
+package school.hei.patrimoine.modele.recouppement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Correction;
+
+// Only the last reconciliation of each cas is kept: a save invalidates the cas whose files changed
+public final class CacheDeRecoupement {
+  private final Map<String, Entree> parCas = new ConcurrentHashMap<>();
+
+  record Cle(
+      String empreintePrevue,
+      String empreinteRealisee,
+      String empreinteDesComptesPartages,
+      FenetreDeRecoupement fenetre) {}
+
+  private record Entree(Cle cle, Set<Correction> corrections) {}
+
+  Optional<Set<Correction>> corrections(String nomDuCas, Cle cle) {
+    var entree = parCas.get(nomDuCas);
+    return entree != null && entree.cle().equals(cle)
+        ? Optional.of(entree.corrections())
+        : Optional.empty();
+  }
+
+  // Shared comptes may be declared by another cas: their content, not their names, keys the cache
+  static String empreinte(Collection<Compte> comptes) {
+    var lignes = new ArrayList<String>();
+    for (var compte : comptes) {
+      lignes.add(
+          String.join(
+              "|",
+              compte.getClass().getSimpleName(),
+              compte.nom(),
+              String.valueOf(compte.t()),
+              String.valueOf(compte.getDateOuverture()),
+              String.valueOf(compte.valeurComptable())));
+      for (var flux : compte.getFluxArgents()) {
+        lignes.add(
+            String.join(
+                "|",
+                compte.nom(),
+                flux.nom(),
+                String.valueOf(flux.getDebut()),
+                String.valueOf(flux.getFin()),
+                String.valueOf(flux.getDateOperation()),
+                String.valueOf(flux.getFluxMensuel())));
+      }
+    }
+    lignes.sort(null);
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      lignes.forEach(ligne -> digest.update((ligne + "\n").getBytes(UTF_8)));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  void memoriser(String nomDuCas, Cle cle, Set<Correction> corrections) {
+    parCas.put(nomDuCas, new Entree(cle, Set.copyOf(corrections)));
+  }
+
+  public int taille() {
+    return parCas.size();
+  }
+
+  public void vider() {
+    parCas.clear();
+  }
+}
@@ -0,0 +1,24 @@
+package school.hei.patrimoine.modele.recouppement;
+
+import java.time.LocalDate;
+
+// Chosen by the caller: only the flux occurrences between debut and fin are reconciled
+public record FenetreDeRecoupement(LocalDate debut, LocalDate fin) {
+  public static final FenetreDeRecoupement TOUT =
+      new FenetreDeRecoupement(LocalDate.MIN, LocalDate.MAX);
+
+  public FenetreDeRecoupement {
+    if (debut.isAfter(fin)) {
+      throw new IllegalArgumentException(
+          "La fenêtre de recoupement commence après sa fin: " + debut + " > " + fin);
+    }
+  }
+
+  public static FenetreDeRecoupement jusqua(LocalDate fin) {
+    return new FenetreDeRecoupement(LocalDate.MIN, fin);
+  }
+
+  LocalDate finBornee(LocalDate finSimulation) {
+    return fin.isBefore(finSimulation) ? fin : finSimulation;
+  }
+}
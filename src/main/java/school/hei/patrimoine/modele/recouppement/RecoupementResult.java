@@ -0,0 +1,50 @@
+package school.hei.patrimoine.modele.recouppement;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static lombok.AccessLevel.NONE;
+import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.EXECUTE_AVEC_CORRECTION;
+import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.EXECUTE_SANS_CORRECTION;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import school.hei.patrimoine.modele.possession.Correction;
+import school.hei.patrimoine.modele.possession.Possession;
+
+@Getter
+public final class RecoupementResult {
+  @Getter(NONE)
+  private final Map<RecoupementStatus, Set<Possession>> possessionsParStatus;
+
+  private final Set<Possession> possessionsExecutes;
+  private final Set<PossessionRecoupee> possessionsRecoupees;
+  private final Set<Correction> corrections;
+
+  RecoupementResult(
+      Map<RecoupementStatus, Set<Possession>> possessionsParStatus,
+      Set<PossessionRecoupee> possessionsRecoupees) {
+    var parStatus = new EnumMap<RecoupementStatus, Set<Possession>>(RecoupementStatus.class);
+    for (var status : RecoupementStatus.values()) {
+      parStatus.put(status, Set.copyOf(possessionsParStatus.getOrDefault(status, Set.of())));
+    }
+    this.possessionsParStatus = parStatus;
+
+    var executes = new HashSet<>(parStatus.get(EXECUTE_AVEC_CORRECTION));
+    executes.addAll(parStatus.get(EXECUTE_SANS_CORRECTION));
+    this.possessionsExecutes = Set.copyOf(executes);
+
+    this.possessionsRecoupees = Set.copyOf(possessionsRecoupees);
+    this.corrections =
+        this.possessionsRecoupees.stream()
+            .map(PossessionRecoupee::corrections)
+            .flatMap(Collection::stream)
+            .collect(toUnmodifiableSet());
+  }
+
+  public Set<Possession> getPossessions(RecoupementStatus status) {
+    return possessionsParStatus.get(status);
+  }
+}
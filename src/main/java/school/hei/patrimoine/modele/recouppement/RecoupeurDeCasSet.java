@@ -1,89 +1,224 @@
 package school.hei.patrimoine.modele.recouppement;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toSet;
 import static school.hei.patrimoine.modele.recouppement.CompteGetterFactory.getComptes;
 import static school.hei.patrimoine.modele.recouppement.RecoupeurDePossessions.withoutCompteCorrections;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import school.hei.patrimoine.cas.Cas;
 import school.hei.patrimoine.cas.CasSet;
 import school.hei.patrimoine.modele.Devise;
 import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Correction;
 import school.hei.patrimoine.modele.possession.Possession;
 
 @Slf4j
 @RequiredArgsConstructor
 public class RecoupeurDeCasSet {
+  private static final ExecutorService EXECUTEUR_PARALLELE =
+      Executors.newFixedThreadPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+          Thread.ofPlatform().daemon().name("recoupement-cas-", 0).factory());
+
   private final CasSet planned;
   private final CasSet done;
-  private Set<Compte> casSetComptes;
+  private final Executor executor;
+  private final CacheDeRecoupement cache;
+  private final FenetreDeRecoupement fenetre;
+  // Content hashes of the cas files, by patrimoine name
+  private final Map<String, String> empreintesPrevues;
+  private final Map<String, String> empreintesRealisees;
+  @Getter private volatile List<RecoupementDeCas> recoupementsDeCas = List.of();
+
+  public record RecoupementDeCas(
+      String nom, int nbCorrections, Duration duree, boolean recalcule) {}
 
   public static RecoupeurDeCasSet of(CasSet planned, CasSet done) {
-    return new RecoupeurDeCasSet(planned, done);
+    return of(planned, done, null);
+  }
+
+  public static RecoupeurDeCasSet of(CasSet planned, CasSet done, Executor executor) {
+    return new RecoupeurDeCasSet(
+        planned, done, executor, null, FenetreDeRecoupement.TOUT, Map.of(), Map.of());
+  }
+
+  public static RecoupeurDeCasSet parallele(CasSet planned, CasSet done) {
+    return of(planned, done, EXECUTEUR_PARALLELE);
+  }
+
+  public static RecoupeurDeCasSet incremental(
+      CasSet planned,
+      CasSet done,
+      Map<String, String> empreintesPrevues,
+      Map<String, String> empreintesRealisees,
+      CacheDeRecoupement cache) {
+    return new RecoupeurDeCasSet(
+        planned,
+        done,
+        EXECUTEUR_PARALLELE,
+        cache,
+        FenetreDeRecoupement.TOUT,
+        empreintesPrevues,
+        empreintesRealisees);
+  }
+
+  public RecoupeurDeCasSet dans(FenetreDeRecoupement fenetre) {
+    return new RecoupeurDeCasSet(
+        planned, done, executor, cache, fenetre, empreintesPrevues, empreintesRealisees);
   }
 
   public CasSet getRecouped() {
+    var debut = System.nanoTime();
+    // Patrimoines are built lazily by Cas: they are all materialized here, before any fork
+    var plannedParNom = new HashMap<String, Cas>();
+    planned.set().forEach(cas -> plannedParNom.putIfAbsent(cas.patrimoine().nom(), cas));
+    var casSetComptes = getComptes(done);
+    var empreinteDesComptesPartages =
+        cache == null ? null : CacheDeRecoupement.empreinte(casSetComptes);
+
+    var recoupes =
+        executor == null
+            ? done.set().stream()
+                .map(
+                    cas ->
+                        withRecoupementCorrections(
+                            cas, plannedParNom, casSetComptes, empreinteDesComptesPartages))
+                .toList()
+            : done.set().stream()
+                .map(
+                    cas ->
+                        supplyAsync(
+                            () ->
+                                withRecoupementCorrections(
+                                    cas, plannedParNom, casSetComptes, empreinteDesComptesPartages),
+                            executor))
+                .toList()
+                .stream()
+                .map(RecoupeurDeCasSet::join)
+                .toList();
+
+    recoupementsDeCas = recoupes.stream().map(CasRecoupe::recoupement).toList();
+    log.info(
+        "Recoupement: Cas.size={}, Corrections.size={}, duree={}ms",
+        recoupementsDeCas.size(),
+        recoupementsDeCas.stream().mapToInt(RecoupementDeCas::nbCorrections).sum(),
+        (System.nanoTime() - debut) / 1_000_000);
+
     return new CasSet(
-        done.set().stream()
-            .map(cas -> withRecoupementCorrections(cas, done, planned))
-            .collect(toSet()),
-        done.objectifFinal());
+        recoupes.stream().map(CasRecoupe::cas).collect(toSet()), done.objectifFinal());
   }
 
-  private Set<Compte> getCasSetComptes() {
-    if (casSetComptes == null) {
-      casSetComptes = getComptes(done);
+  private CacheDeRecoupement.Cle cle(String nom, String empreinteDesComptesPartages) {
+    var empreintePrevue = empreintesPrevues.get(nom);
+    var empreinteRealisee = empreintesRealisees.get(nom);
+    if (cache == null || empreintePrevue == null || empreinteRealisee == null) {
+      return null;
     }
+    return new CacheDeRecoupement.Cle(
+        empreintePrevue, empreinteRealisee, empreinteDesComptesPartages, fenetre);
+  }
 
-    return casSetComptes;
+  private record CasRecoupe(Cas cas, RecoupementDeCas recoupement) {}
+
+  private static CasRecoupe join(CompletableFuture<CasRecoupe> casRecoupe) {
+    try {
+      return casRecoupe.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
-  private Cas withRecoupementCorrections(Cas doneCas, CasSet doneCasSet, CasSet plannedCasSet) {
+  private CasRecoupe withRecoupementCorrections(
+      Cas doneCas,
+      Map<String, Cas> plannedParNom,
+      Set<Compte> casSetComptes,
+      String empreinteDesComptesPartages) {
+    var debut = System.nanoTime();
     var plannedCas =
-        plannedCasSet.set().stream()
-            .filter(cas -> cas.patrimoine().nom().equals(doneCas.patrimoine().nom()))
-            .findFirst()
-            .orElseThrow();
+        Optional.ofNullable(plannedParNom.get(doneCas.patrimoine().nom())).orElseThrow();
 
     var possessions = withoutCompteCorrections(doneCas.patrimoine().getPossessions());
 
-    var corrections =
-        RecoupeurDePossessions.of(
-                doneCas.getFinSimulation(),
-                plannedCas.patrimoine(),
-                doneCas.patrimoine(),
-                CompteGetterFactory.make(doneCas, getCasSetComptes()))
-            .getCorrections();
-
-    log.info(
-        "Recoupement: Patrimoine.nom={}, Corrections.size={}",
-        plannedCas.patrimoine().nom(),
-        corrections.size());
-
-    return new Cas(
-        doneCas.getAjd(), doneCas.getFinSimulation(), doneCas.patrimoine().getPossesseurs()) {
-      @Override
-      protected Devise devise() {
-        return doneCas.patrimoine().getDevise();
-      }
+    var nom = plannedCas.patrimoine().nom();
+    var compteGetter = CompteGetterFactory.make(doneCas, casSetComptes);
+    var cle = cle(nom, empreinteDesComptesPartages);
+    var enCache = cle == null ? Optional.<Set<Correction>>empty() : cache.corrections(nom, cle);
 
-      @Override
-      protected String nom() {
-        return doneCas.patrimoine().getNom();
-      }
-
-      @Override
-      protected void init() {}
-
-      @Override
-      protected void suivi() {}
+    // Corrections only act through the flux they add: cached ones are replayed on the new comptes
+    var corrections =
+        enCache
+            .map(
+                cachees ->
+                    cachees.stream()
+                        .map(c -> c.rejouee(compteGetter.apply(c.getPossession().nom())))
+                        .collect(toSet()))
+            .orElseGet(
+                () ->
+                    RecoupeurDePossessions.of(
+                            fenetre.debut(),
+                            fenetre.finBornee(doneCas.getFinSimulation()),
+                            plannedCas.patrimoine(),
+                            doneCas.patrimoine(),
+                            compteGetter)
+                        .getCorrections());
+    if (cle != null) {
+      cache.memoriser(nom, cle, corrections);
+    }
 
-      @Override
-      public Set<Possession> possessions() {
-        return possessions;
-      }
-    };
+    var recoupement =
+        new RecoupementDeCas(
+            nom,
+            corrections.size(),
+            Duration.ofNanos(System.nanoTime() - debut),
+            enCache.isEmpty());
+    log.debug(
+        "Recoupement: Patrimoine.nom={}, Corrections.size={}, duree={}µs, recalcule={}",
+        recoupement.nom(),
+        recoupement.nbCorrections(),
+        recoupement.duree().toNanos() / 1_000,
+        recoupement.recalcule());
+
+    var cas =
+        new Cas(
+            doneCas.getAjd(), doneCas.getFinSimulation(), doneCas.patrimoine().getPossesseurs()) {
+          @Override
+          protected Devise devise() {
+            return doneCas.patrimoine().getDevise();
+          }
+
+          @Override
+          protected String nom() {
+            return doneCas.patrimoine().getNom();
+          }
+
+          @Override
+          protected void init() {}
+
+          @Override
+          protected void suivi() {}
+
+          @Override
+          public Set<Possession> possessions() {
+            return possessions;
+          }
+        };
+    return new CasRecoupe(cas, recoupement);
   }
 }
@@ -4,9 +4,12 @@ import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.toSet;
 import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.EXECUTE_AVEC_CORRECTION;
 import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.EXECUTE_SANS_CORRECTION;
+import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.IMPREVU;
+import static school.hei.patrimoine.modele.recouppement.RecoupementStatus.NON_EXECUTE;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.decomposeur.PossessionDecomposeurFactory;
@@ -17,13 +20,17 @@ import school.hei.patrimoine.modele.recouppement.CompteGetterFactory.CompteGette
 import school.hei.patrimoine.modele.recouppement.generateur.RecoupeurDePossessionFacade;
 
 public class RecoupeurDePossessions {
+  private final LocalDate debutRecoupement;
   private final LocalDate finSimulation;
   private final Set<Possession> prevus;
   private final Set<Possession> realises;
+  private final Map<Cle, Set<Possession>> prevusParCle;
+  private final Map<Cle, Set<Possession>> realisesParCle;
 
   public static final Pattern MULTIPLE_REALISATION_PATTERN = Pattern.compile("\\[(.*)\\]__(.*)");
 
   private final RecoupeurDePossessionFacade recoupeurFacade;
+  private final RecoupementResult result;
 
   public static RecoupeurDePossessions of(
       LocalDate finSimulation, Patrimoine prevu, Patrimoine realise) {
@@ -37,17 +44,43 @@ public class RecoupeurDePossessions {
         finSimulation, prevu.getPossessions(), realise.getPossessions(), compteGetter);
   }
 
+  // Only the occurrences of flux between debutRecoupement and finSimulation are reconciled
+  public static RecoupeurDePossessions of(
+      LocalDate debutRecoupement,
+      LocalDate finSimulation,
+      Patrimoine prevu,
+      Patrimoine realise,
+      CompteGetter compteGetter) {
+    return new RecoupeurDePossessions(
+        debutRecoupement,
+        finSimulation,
+        prevu.getPossessions(),
+        realise.getPossessions(),
+        compteGetter);
+  }
+
+  public RecoupeurDePossessions(
+      LocalDate finSimulation,
+      Set<Possession> prevus,
+      Set<Possession> realises,
+      CompteGetter compteGetter) {
+    this(LocalDate.MIN, finSimulation, prevus, realises, compteGetter);
+  }
+
   public RecoupeurDePossessions(
+      LocalDate debutRecoupement,
       LocalDate finSimulation,
       Set<Possession> prevus,
       Set<Possession> realises,
       CompteGetter compteGetter) {
+    this.debutRecoupement = debutRecoupement;
     this.finSimulation = finSimulation;
     this.prevus =
         withoutCompteCorrections(prevus).stream()
             .map(
                 p -> {
-                  var decomposeur = PossessionDecomposeurFactory.make(p, this.finSimulation);
+                  var decomposeur =
+                      PossessionDecomposeurFactory.make(p, debutRecoupement, finSimulation);
                   return decomposeur.apply(p);
                 })
             .flatMap(Collection::stream)
@@ -57,123 +90,109 @@ public class RecoupeurDePossessions {
         withoutCompteCorrections(realises).stream()
             .map(
                 p -> {
-                  var decomposeur = PossessionDecomposeurFactory.make(p, finSimulation);
+                  var decomposeur =
+                      PossessionDecomposeurFactory.make(p, debutRecoupement, finSimulation);
                   return decomposeur.apply(p);
                 })
             .flatMap(Collection::stream)
             .collect(toSet());
 
+    this.prevusParCle = indexer(this.prevus, p -> new Cle(p.nom(), p.getClass()));
+    this.realisesParCle = indexer(this.realises, RecoupeurDePossessions::cle);
     this.recoupeurFacade = new RecoupeurDePossessionFacade(compteGetter);
+    this.result = recouper();
+  }
+
+  public RecoupementResult getResult() {
+    return result;
   }
 
   public Set<Possession> getPossessionsExecutes() {
-    return prevus.stream().filter(not(p -> getRealises(p).isEmpty())).collect(toSet());
+    return result.getPossessionsExecutes();
   }
 
   public Set<Possession> getPossessionsNonExecutes() {
-    return prevus.stream().filter(p -> getRealises(p).isEmpty()).collect(toSet());
+    return result.getPossessions(NON_EXECUTE);
   }
 
   public Set<Possession> getPossessionsNonPrevus() {
-    return realises.stream().filter(p -> getPrevu(p).isEmpty()).collect(toSet());
+    return result.getPossessions(IMPREVU);
   }
 
   public Set<PossessionRecoupee> getPossessionsRecoupees() {
-    Set<PossessionRecoupee> possessionRecoupees = new HashSet<>();
-
-    getPossessionsNonExecutes()
-        .forEach(
-            p -> {
-              var possessionRecoupeur = recoupeurFacade.getRecoupeur(p);
-              possessionRecoupees.add(possessionRecoupeur.nonExecute(p));
-            });
-
-    getPossessionsNonPrevus()
-        .forEach(
-            p -> {
-              var possessionRecoupeur = recoupeurFacade.getRecoupeur(p);
-              possessionRecoupees.add(possessionRecoupeur.imprevu(p));
-            });
-
-    getPossessionsExecutes()
-        .forEach(
-            prevu -> {
-              var realises = getRealises(prevu);
-              var possessionRecoupeur = recoupeurFacade.getRecoupeur(prevu);
-              var possessionRecoupee = possessionRecoupeur.comparer(prevu, realises);
-              possessionRecoupees.add(possessionRecoupee);
-            });
-
-    return possessionRecoupees;
+    return result.getPossessionsRecoupees();
   }
 
   public Set<Correction> getCorrections() {
-    return getPossessionsRecoupees().stream()
-        .map(PossessionRecoupee::corrections)
-        .flatMap(Collection::stream)
-        .collect(toSet());
+    return result.getCorrections();
   }
 
   public Set<Possession> getPossessionsExecutesAvecCorrections() {
-    return getPossessionsExecutes().stream()
-        .filter(
-            prevu -> {
-              var realises = getRealises(prevu);
-              var possessionRecoupeur = recoupeurFacade.getRecoupeur(prevu);
-              var possessionRecoupee = possessionRecoupeur.comparer(prevu, realises);
-              return possessionRecoupee.status().equals(EXECUTE_AVEC_CORRECTION);
-            })
-        .collect(toSet());
+    return result.getPossessions(EXECUTE_AVEC_CORRECTION);
   }
 
   public Set<Possession> getPossessionsExecutesSansCorrections() {
-    return getPossessionsExecutes().stream()
-        .filter(
-            prevu -> {
-              var realises = getRealises(prevu);
-              var possessionRecoupeur = recoupeurFacade.getRecoupeur(prevu);
-              var possessionRecoupee = possessionRecoupeur.comparer(prevu, realises);
-              return possessionRecoupee.status().equals(EXECUTE_SANS_CORRECTION);
-            })
-        .collect(toSet());
+    return result.getPossessions(EXECUTE_SANS_CORRECTION);
   }
 
-  private Optional<Possession> getPrevu(Possession realise) {
-    return prevus.stream()
-        .filter(
+  // Corrections are generated once: each of them adds a flux to its CompteCorrection
+  private RecoupementResult recouper() {
+    var possessionsParStatus =
+        new EnumMap<RecoupementStatus, Set<Possession>>(RecoupementStatus.class);
+    Set<PossessionRecoupee> possessionRecoupees = new HashSet<>();
+
+    prevus.forEach(
+        prevu -> {
+          var realises = getRealises(prevu);
+          var possessionRecoupeur = recoupeurFacade.getRecoupeur(prevu);
+          if (realises.isEmpty()) {
+            possessionsParStatus.computeIfAbsent(NON_EXECUTE, s -> new HashSet<>()).add(prevu);
+            possessionRecoupees.add(possessionRecoupeur.nonExecute(prevu));
+            return;
+          }
+
+          var possessionRecoupee = possessionRecoupeur.comparer(prevu, realises);
+          var status =
+              possessionRecoupee.status().equals(EXECUTE_AVEC_CORRECTION)
+                  ? EXECUTE_AVEC_CORRECTION
+                  : EXECUTE_SANS_CORRECTION;
+          possessionsParStatus.computeIfAbsent(status, s -> new HashSet<>()).add(prevu);
+          possessionRecoupees.add(possessionRecoupee);
+        });
+
+    realises.stream()
+        .filter(p -> getPrevu(p).isEmpty())
+        .forEach(
             p -> {
-              var prevuNom = realise.nom();
-              var matcher = MULTIPLE_REALISATION_PATTERN.matcher(realise.nom());
-              if (matcher.matches()) {
-                prevuNom = matcher.group(1);
-              }
+              possessionsParStatus.computeIfAbsent(IMPREVU, s -> new HashSet<>()).add(p);
+              possessionRecoupees.add(recoupeurFacade.getRecoupeur(p).imprevu(p));
+            });
 
-              if (!prevuNom.equals(p.nom())) {
-                return false;
-              }
+    return new RecoupementResult(possessionsParStatus, possessionRecoupees);
+  }
 
-              return realise.getClass().equals(p.getClass());
-            })
-        .findFirst();
+  private Optional<Possession> getPrevu(Possession realise) {
+    return prevusParCle.getOrDefault(cle(realise), Set.of()).stream().findFirst();
   }
 
   private Set<Possession> getRealises(Possession prevu) {
-    return realises.stream()
-        .filter(
-            realise -> {
-              var realiseBaseName = realise.nom();
-              var matcher = MULTIPLE_REALISATION_PATTERN.matcher(realise.nom());
-              if (matcher.matches()) {
-                realiseBaseName = matcher.group(1);
-              }
-
-              if (!prevu.nom().equals(realiseBaseName)) {
-                return false;
-              }
-
-              return prevu.getClass().equals(realise.getClass());
-            })
-        .collect(toSet());
+    return realisesParCle.getOrDefault(new Cle(prevu.nom(), prevu.getClass()), Set.of());
+  }
+
+  private record Cle(String nom, Class<?> type) {}
+
+  // Each realisation "[nom]__suffixe" is matched against the planned possession "nom"
+  private static Cle cle(Possession realise) {
+    var matcher = MULTIPLE_REALISATION_PATTERN.matcher(realise.nom());
+    var nom = matcher.matches() ? matcher.group(1) : realise.nom();
+    return new Cle(nom, realise.getClass());
+  }
+
+  private static Map<Cle, Set<Possession>> indexer(
+      Set<Possession> possessions, Function<Possession, Cle> cle) {
+    var parCle = new HashMap<Cle, Set<Possession>>();
+    possessions.forEach(p -> parCle.computeIfAbsent(cle.apply(p), c -> new HashSet<>()).add(p));
+    return parCle;
   }
 
   static Set<Possession> withoutCompteCorrections(Set<Possession> possessions) {
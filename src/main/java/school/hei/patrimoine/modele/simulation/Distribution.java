@@ -0,0 +1,24 @@
+package school.hei.patrimoine.modele.simulation;
+
+import java.util.random.RandomGenerator;
+
+@FunctionalInterface
+public interface Distribution {
+  double tirer(RandomGenerator aleatoire);
+
+  static Distribution constante(double valeur) {
+    return aleatoire -> valeur;
+  }
+
+  static Distribution uniforme(double min, double max) {
+    if (max < min) {
+      throw new IllegalArgumentException(
+          String.format("Distribution uniforme vide: [%s, %s]", min, max));
+    }
+    return aleatoire -> min + (max - min) * aleatoire.nextDouble();
+  }
+
+  static Distribution normale(double moyenne, double ecartType) {
+    return aleatoire -> aleatoire.nextGaussian(moyenne, ecartType);
+  }
+}
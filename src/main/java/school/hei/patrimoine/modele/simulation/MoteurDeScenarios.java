@@ -0,0 +1,203 @@
+package school.hei.patrimoine.modele.simulation;
+
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.evolution.Resolution;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+
+// Scenarios vary the compiled plan of a patrimoine: its possessions are never rebuilt
+@Slf4j
+public final class MoteurDeScenarios {
+  private static final int NB_LOTS = 20;
+
+  private final SimulationPlan plan;
+  private final LocalDate debut;
+  private final LocalDate fin;
+  private final List<LocalDate> dates;
+  private final int[] indicesDesDates;
+  private final List<Variation> tauxDesMateriels = new ArrayList<>();
+  private final List<Variation> tauxDesDevises = new ArrayList<>();
+  private final List<Variation> facteursDesFlux = new ArrayList<>();
+  private final List<Variation> decalagesDesDebuts = new ArrayList<>();
+
+  public MoteurDeScenarios(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    this(patrimoine, debut, fin, JOURNALIERE);
+  }
+
+  public MoteurDeScenarios(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin, Resolution resolution) {
+    this.plan = SimulationPlan.compiler(patrimoine, fin);
+    this.debut = debut;
+    this.fin = fin;
+    this.dates = resolution.dates(debut, fin);
+    this.indicesDesDates =
+        dates.stream().mapToInt(d -> (int) (d.toEpochDay() - debut.toEpochDay())).toArray();
+  }
+
+  private record Variation(int index, Distribution distribution) {}
+
+  public MoteurDeScenarios tauxDAppreciation(Materiel materiel, Distribution distribution) {
+    tauxDesMateriels.add(new Variation(plan.noeud(materiel), distribution));
+    return this;
+  }
+
+  public MoteurDeScenarios tauxDAppreciation(Devise devise, Distribution distribution) {
+    tauxDesDevises.add(new Variation(plan.indexDevise(devise), distribution));
+    return this;
+  }
+
+  public MoteurDeScenarios facteurDuMontant(FluxArgent fluxArgent, Distribution distribution) {
+    facteursDesFlux.add(new Variation(plan.indexFlux(fluxArgent), distribution));
+    return this;
+  }
+
+  public MoteurDeScenarios joursDeDecalageDuDebut(
+      FluxArgent fluxArgent, Distribution distribution) {
+    decalagesDesDebuts.add(new Variation(plan.indexFlux(fluxArgent), distribution));
+    return this;
+  }
+
+  public ResultatDeScenarios executer(int nbScenarios, long graine) {
+    return executer(nbScenarios, graine, ForkJoinPool.commonPool(), resultat -> {});
+  }
+
+  public ResultatDeScenarios executer(
+      int nbScenarios, long graine, Executor executeur, Consumer<ResultatDeScenarios> progression) {
+    if (nbScenarios < 1) {
+      throw new IllegalArgumentException(
+          "Le nombre de scénarios doit être positif: " + nbScenarios);
+    }
+
+    var debutExecution = System.nanoTime();
+    var valeurs = new double[nbScenarios][];
+    var impossibles = new boolean[nbScenarios];
+    var tailleDesLots = Math.max(1, (nbScenarios + NB_LOTS - 1) / NB_LOTS);
+    var lots = new ArrayList<CompletableFuture<Void>>();
+    for (int premier = 0; premier < nbScenarios; premier += tailleDesLots) {
+      var debutDuLot = premier;
+      var finDuLot = Math.min(nbScenarios, premier + tailleDesLots);
+      // Lots write disjoint scenarios, published by join
+      lots.add(
+          CompletableFuture.runAsync(
+              () -> {
+                for (int s = debutDuLot; s < finDuLot; s++) {
+                  var resultat = plan.executer(debut, fin, scenario(graine, s));
+                  valeurs[s] = echantillon(resultat.valeursPatrimoine());
+                  impossibles[s] = resultat.fluxImpossible();
+                }
+              },
+              executeur));
+    }
+
+    ResultatDeScenarios resultat = null;
+    var nbTermines = 0;
+    for (var lot : lots) {
+      join(lot);
+      nbTermines = Math.min(nbScenarios, nbTermines + tailleDesLots);
+      resultat = resultat(valeurs, impossibles, nbTermines, debutExecution);
+      progression.accept(resultat);
+    }
+    log.debug(
+        "{} scénarios à {} scénarios/s", resultat.nbScenarios(), resultat.scenariosParSeconde());
+    return resultat;
+  }
+
+  private SimulationPlan.Scenario scenario(long graine, int indice) {
+    // Each scenario draws from its own generator: results do not depend on the executor
+    var aleatoire = new SplittableRandom(graine + indice * 0x9E3779B97F4A7C15L);
+    var scenario = plan.scenarioDeBase();
+    tauxDesMateriels.forEach(
+        v -> scenario.tauxDAppreciationDesNoeuds()[v.index()] = v.distribution().tirer(aleatoire));
+    tauxDesDevises.forEach(
+        v -> {
+          var devise = scenario.devises()[v.index()];
+          scenario.devises()[v.index()] =
+              new Devise(
+                  devise.nom(),
+                  devise.symbole(),
+                  devise.t(),
+                  devise.valeurEnAriary(),
+                  v.distribution().tirer(aleatoire));
+        });
+    facteursDesFlux.forEach(
+        v -> scenario.facteursDesFlux()[v.index()] = v.distribution().tirer(aleatoire));
+    decalagesDesDebuts.forEach(
+        v ->
+            scenario.decalagesDesFlux()[v.index()] = Math.round(v.distribution().tirer(aleatoire)));
+    return scenario;
+  }
+
+  private double[] echantillon(double[] valeursJournalieres) {
+    var echantillon = new double[indicesDesDates.length];
+    for (int i = 0; i < indicesDesDates.length; i++) {
+      echantillon[i] = valeursJournalieres[indicesDesDates[i]];
+    }
+    return echantillon;
+  }
+
+  private ResultatDeScenarios resultat(
+      double[][] valeurs, boolean[] impossibles, int nbScenarios, long debutExecution) {
+    var p10 = new double[dates.size()];
+    var p50 = new double[dates.size()];
+    var p90 = new double[dates.size()];
+    var valeursALaDate = new double[nbScenarios];
+    for (int i = 0; i < dates.size(); i++) {
+      for (int s = 0; s < nbScenarios; s++) {
+        valeursALaDate[s] = valeurs[s][i];
+      }
+      Arrays.sort(valeursALaDate);
+      p10[i] = percentile(valeursALaDate, 0.1);
+      p50[i] = percentile(valeursALaDate, 0.5);
+      p90[i] = percentile(valeursALaDate, 0.9);
+    }
+    var nbImpossibles = 0;
+    for (int s = 0; s < nbScenarios; s++) {
+      if (impossibles[s]) {
+        nbImpossibles++;
+      }
+    }
+    var secondes = (System.nanoTime() - debutExecution) / 1e9;
+    return new ResultatDeScenarios(
+        dates,
+        p10,
+        p50,
+        p90,
+        nbScenarios,
+        (double) nbImpossibles / nbScenarios,
+        secondes > 0 ? nbScenarios / secondes : Double.POSITIVE_INFINITY);
+  }
+
+  // Linear interpolation between the closest ranks
+  private static double percentile(double[] valeursTriees, double p) {
+    var rang = p * (valeursTriees.length - 1);
+    var inferieur = (int) Math.floor(rang);
+    var superieur = Math.min(inferieur + 1, valeursTriees.length - 1);
+    return valeursTriees[inferieur]
+        + (rang - inferieur) * (valeursTriees[superieur] - valeursTriees[inferieur]);
+  }
+
+  private static void join(CompletableFuture<Void> lot) {
+    try {
+      lot.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
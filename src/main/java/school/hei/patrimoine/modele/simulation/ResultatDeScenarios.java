@@ -0,0 +1,13 @@
+package school.hei.patrimoine.modele.simulation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ResultatDeScenarios(
+    List<LocalDate> dates,
+    double[] p10,
+    double[] p50,
+    double[] p90,
+    int nbScenarios,
+    double probabiliteDeFluxImpossible,
+    double scenariosParSeconde) {}
@@ -0,0 +1,64 @@
+package school.hei.patrimoine.modele.simulation;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.time.LocalDate;
+import java.util.List;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public final class ResultatSimulation {
+  private final SimulationPlan plan;
+  private final LocalDate debut;
+  private final double[][] valeurs;
+  private final double[] valeursPatrimoine;
+
+  ResultatSimulation(
+      SimulationPlan plan, LocalDate debut, double[][] valeurs, double[] valeursPatrimoine) {
+    this.plan = plan;
+    this.debut = debut;
+    this.valeurs = valeurs;
+    this.valeursPatrimoine = valeursPatrimoine;
+  }
+
+  public List<LocalDate> dates() {
+    return debut.datesUntil(debut.plusDays(valeursPatrimoine.length)).toList();
+  }
+
+  public double[] valeursPatrimoine() {
+    return valeursPatrimoine.clone();
+  }
+
+  public double[] valeurs(Possession possession) {
+    return valeurs[plan.noeud(possession)].clone();
+  }
+
+  public Argent valeurComptable(Possession possession, LocalDate t) {
+    var noeud = plan.noeud(possession);
+    return new Argent(valeurs[noeud][jour(t)], plan.devise(noeud));
+  }
+
+  public Argent valeurComptablePatrimoine(LocalDate t) {
+    return new Argent(valeursPatrimoine[jour(t)], plan.getPatrimoine().getDevise());
+  }
+
+  public Possession projection(Possession possession, LocalDate t) {
+    return plan.reconstruire(plan.noeud(possession), t, valeurs, jour(t));
+  }
+
+  public Patrimoine patrimoine(LocalDate t) {
+    var jour = jour(t);
+    return plan.getPatrimoine()
+        .projectionFuture(t, p -> plan.reconstruire(plan.noeud(p), t, valeurs, jour));
+  }
+
+  private int jour(LocalDate t) {
+    var jour = DAYS.between(debut, t);
+    if (jour < 0 || jour >= valeursPatrimoine.length) {
+      throw new IllegalArgumentException(
+          String.format("%s hors de la simulation [%s, %s]", t, debut, dates().getLast()));
+    }
+    return (int) jour;
+  }
+}
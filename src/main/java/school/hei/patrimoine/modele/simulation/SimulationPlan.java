@@ -0,0 +1,530 @@
+package school.hei.patrimoine.modele.simulation;
+
+import static java.lang.Double.parseDouble;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import school.hei.patrimoine.Pair;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Calendrier;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.TauxDeChangeTable;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.CompteCorrection;
+import school.hei.patrimoine.modele.possession.Correction;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.possession.RemboursementDette;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+public final class SimulationPlan {
+  private static final byte COMPTE = 0;
+  private static final byte MATERIEL = 1;
+  private static final byte GROUPE = 2;
+  private static final byte ALIAS = 3;
+  private static final byte CONSTANTE = 4;
+  private static final byte AUTRE = 5;
+
+  @Getter private final Patrimoine patrimoine;
+  @Getter private final LocalDate fin;
+  private final Map<Possession, Integer> noeuds;
+  private final Possession[] possessions;
+  private final Devise[] devises;
+  private final TauxDeChangeTable tableDeTaux;
+  private final int deviseDuPatrimoine;
+
+  private final byte[] genres;
+  private final int[] devisesDesNoeuds;
+  private final double[] valeursInitiales;
+  private final long[] jours;
+  private final long[] ouvertures;
+  private final double[] tauxDAppreciation;
+  private final int[] premieresOperations;
+  private final long[] joursDesOperations;
+  private final double[] soldesApresOperations;
+  private final int[] premiersMembres;
+  private final int[] membres;
+  private final int[] racines;
+  private final FluxArgent[] flux;
+  private final int[] devisesDesFlux;
+  private final double[] montantsDesFlux;
+  private final int[][] fluxDesComptes;
+
+  private SimulationPlan(Compilateur compilateur) {
+    this.patrimoine = compilateur.patrimoine;
+    this.fin = compilateur.fin;
+    this.noeuds = compilateur.noeuds;
+    this.possessions = compilateur.possessions.toArray(Possession[]::new);
+    this.devises = compilateur.devises.toArray(Devise[]::new);
+    // Shared by the scenarios of this plan, whose own devises are valued apart
+    this.tableDeTaux = TauxDeChangeTable.de(List.of(devises), patrimoine.getT(), fin);
+    this.deviseDuPatrimoine = compilateur.indexDevise(patrimoine.getDevise());
+    this.flux = compilateur.flux.toArray(FluxArgent[]::new);
+    this.devisesDesFlux = new int[flux.length];
+    this.montantsDesFlux = new double[flux.length];
+    for (int f = 0; f < flux.length; f++) {
+      devisesDesFlux[f] = compilateur.indexDevise(flux[f].getFluxMensuel().devise());
+      montantsDesFlux[f] = montant(flux[f].getFluxMensuel());
+    }
+    this.fluxDesComptes = compilateur.fluxDesNoeuds.toArray(int[][]::new);
+
+    var nbNoeuds = possessions.length;
+    this.genres = new byte[nbNoeuds];
+    this.devisesDesNoeuds = new int[nbNoeuds];
+    this.valeursInitiales = new double[nbNoeuds];
+    this.jours = new long[nbNoeuds];
+    this.ouvertures = new long[nbNoeuds];
+    this.tauxDAppreciation = new double[nbNoeuds];
+    this.premieresOperations = new int[nbNoeuds + 1];
+    this.premiersMembres = new int[nbNoeuds + 1];
+
+    var operations = new ArrayList<Double>();
+    var joursOperations = new ArrayList<Long>();
+    var listeMembres = new ArrayList<Integer>();
+    for (int n = 0; n < nbNoeuds; n++) {
+      var noeud = compilateur.noeudsCompiles.get(n);
+      genres[n] = noeud.genre;
+      devisesDesNoeuds[n] =
+          noeud.genre == ALIAS
+              ? devisesDesNoeuds[noeud.membres.getFirst()]
+              : compilateur.indexDevise(possessions[n].devise());
+      valeursInitiales[n] = montant(possessions[n].valeurComptable());
+      jours[n] = possessions[n].t().toEpochDay();
+      ouvertures[n] = noeud.ouverture;
+      tauxDAppreciation[n] = noeud.tauxDAppreciation;
+      premieresOperations[n] = operations.size();
+      var solde = valeursInitiales[n];
+      for (var operation : noeud.operations) {
+        solde += operation.second();
+        joursOperations.add(operation.first());
+        operations.add(solde);
+      }
+      premiersMembres[n] = listeMembres.size();
+      listeMembres.addAll(noeud.membres);
+    }
+    premieresOperations[nbNoeuds] = operations.size();
+    premiersMembres[nbNoeuds] = listeMembres.size();
+    this.joursDesOperations = joursOperations.stream().mapToLong(Long::longValue).toArray();
+    this.soldesApresOperations = operations.stream().mapToDouble(Double::doubleValue).toArray();
+    this.membres = listeMembres.stream().mapToInt(Integer::intValue).toArray();
+    // A projected Correction equals its projected possession, so the patrimoine set keeps only one
+    this.racines =
+        patrimoine.getPossessions().stream()
+            .filter(p -> !(p instanceof CompteCorrection))
+            .filter(
+                p ->
+                    !(p instanceof Correction correction)
+                        || !patrimoine.getPossessions().contains(correction.getPossession()))
+            .mapToInt(noeuds::get)
+            .toArray();
+  }
+
+  public static SimulationPlan compiler(Patrimoine patrimoine, LocalDate fin) {
+    var compilateur = new Compilateur(patrimoine, fin);
+    compilateur.indexDevise(patrimoine.getDevise());
+    patrimoine.getPossessions().forEach(compilateur::compiler);
+    return new SimulationPlan(compilateur);
+  }
+
+  public ResultatSimulation executer(LocalDate debut, LocalDate fin) {
+    if (fin.isAfter(this.fin)) {
+      throw new IllegalArgumentException(
+          String.format("Le plan n'est compilé que jusqu'au %s, pas jusqu'au %s", this.fin, fin));
+    }
+
+    var valeurs = valeurs(debut, fin, null);
+    return new ResultatSimulation(this, debut, valeurs.valeurs(), valeurs.valeursPatrimoine());
+  }
+
+  ValeursDuScenario executer(LocalDate debut, LocalDate fin, Scenario scenario) {
+    if (fin.isAfter(this.fin)) {
+      throw new IllegalArgumentException(
+          String.format("Le plan n'est compilé que jusqu'au %s, pas jusqu'au %s", this.fin, fin));
+    }
+    return valeurs(debut, fin, scenario);
+  }
+
+  // Without scenario, accounts replay the operations compiled with the plan
+  private ValeursDuScenario valeurs(LocalDate debut, LocalDate fin, Scenario scenario) {
+    var premierJour = debut.toEpochDay();
+    var nbJours = (int) (fin.toEpochDay() - premierJour + 1);
+    var tauxDeChange = new double[devises.length][];
+    for (int d = 0; d < devises.length; d++) {
+      tauxDeChange[d] =
+          scenario == null || scenario.devises()[d] == devises[d]
+              ? tableDeTaux.valeursEnAriary(devises[d], debut, fin)
+              : valeursEnAriary(scenario.devises()[d], premierJour, nbJours);
+    }
+
+    var fluxImpossible = false;
+    var valeurs = new double[possessions.length][nbJours];
+    for (int n = 0; n < possessions.length; n++) {
+      var valeursDuNoeud = valeurs[n];
+      switch (genres[n]) {
+        case COMPTE -> {
+          if (scenario != null) {
+            fluxImpossible |= compte(n, premierJour, scenario, valeursDuNoeud);
+            continue;
+          }
+          var operation = premieresOperations[n];
+          var derniereOperation = premieresOperations[n + 1];
+          for (int j = 0; j < nbJours; j++) {
+            var jour = premierJour + j;
+            while (operation < derniereOperation && joursDesOperations[operation] <= jour) {
+              operation++;
+            }
+            valeursDuNoeud[j] =
+                jour < ouvertures[n]
+                    ? 0
+                    : operation == premieresOperations[n]
+                        ? valeursInitiales[n]
+                        : soldesApresOperations[operation - 1];
+          }
+        }
+        case MATERIEL -> {
+          var taux =
+              scenario == null ? tauxDAppreciation[n] : scenario.tauxDAppreciationDesNoeuds()[n];
+          var valeurAjouteeJournaliere = valeursInitiales[n] * (taux / 365.);
+          for (int j = 0; j < nbJours; j++) {
+            var jour = premierJour + j;
+            if (jour < ouvertures[n]) {
+              valeursDuNoeud[j] = 0;
+              continue;
+            }
+            var valeur = valeursInitiales[n] + valeurAjouteeJournaliere * (jour - jours[n]);
+            valeursDuNoeud[j] = valeur < 0 ? 0 : valeur;
+          }
+        }
+        case GROUPE -> {
+          var tauxDuGroupe = tauxDeChange[devisesDesNoeuds[n]];
+          for (int m = premiersMembres[n]; m < premiersMembres[n + 1]; m++) {
+            var valeursDuMembre = valeurs[membres[m]];
+            var tauxDuMembre = tauxDeChange[devisesDesNoeuds[membres[m]]];
+            for (int j = 0; j < nbJours; j++) {
+              valeursDuNoeud[j] += valeursDuMembre[j] * tauxDuMembre[j] / tauxDuGroupe[j];
+            }
+          }
+        }
+        case ALIAS ->
+            System.arraycopy(valeurs[membres[premiersMembres[n]]], 0, valeursDuNoeud, 0, nbJours);
+        case CONSTANTE -> Arrays.fill(valeursDuNoeud, valeursInitiales[n]);
+        default -> {
+          for (int j = 0; j < nbJours; j++) {
+            valeursDuNoeud[j] =
+                montant(
+                    possessions[n]
+                        .projectionFuture(LocalDate.ofEpochDay(premierJour + j))
+                        .valeurComptable());
+          }
+        }
+      }
+    }
+
+    var valeursPatrimoine = new double[nbJours];
+    var tauxDuPatrimoine = tauxDeChange[deviseDuPatrimoine];
+    for (var racine : racines) {
+      var tauxDeLaRacine = tauxDeChange[devisesDesNoeuds[racine]];
+      for (int j = 0; j < nbJours; j++) {
+        valeursPatrimoine[j] += valeurs[racine][j] * tauxDeLaRacine[j] / tauxDuPatrimoine[j];
+      }
+    }
+    return new ValeursDuScenario(valeurs, valeursPatrimoine, fluxImpossible);
+  }
+
+  private static double[] valeursEnAriary(Devise devise, long premierJour, int nbJours) {
+    var valeurs = new double[nbJours];
+    for (int j = 0; j < nbJours; j++) {
+      valeurs[j] = devise.valeurEnAriary(premierJour + j);
+    }
+    return valeurs;
+  }
+
+  // Replays the flux as varied by the scenario; tells whether one became impossible
+  private boolean compte(int n, long premierJour, Scenario scenario, double[] valeursDuNoeud) {
+    var indicesDesFlux = fluxDesComptes[n];
+    var dernierJour = premierJour + valeursDuNoeud.length - 1;
+    var joursParFlux = new long[indicesDesFlux.length][];
+    var nbOperations = 0;
+    var premiereOperation = Long.MAX_VALUE;
+    for (int k = 0; k < indicesDesFlux.length; k++) {
+      var f = indicesDesFlux[k];
+      joursParFlux[k] =
+          Calendrier.joursDOperation(
+              Math.max(jours[n], flux[f].getDebut().toEpochDay() + scenario.decalagesDesFlux()[f]),
+              Math.min(dernierJour, flux[f].getFin().toEpochDay()),
+              flux[f].getDateOperation());
+      nbOperations += joursParFlux[k].length;
+      if (joursParFlux[k].length > 0) {
+        premiereOperation = Math.min(premiereOperation, joursParFlux[k][0]);
+      }
+    }
+    // Sorted on primitive keys: operations of the same day keep the order of the flux
+    var cles = new long[nbOperations];
+    var i = 0;
+    for (int k = 0; k < indicesDesFlux.length; k++) {
+      for (var jour : joursParFlux[k]) {
+        cles[i++] = (jour - premiereOperation) * indicesDesFlux.length + k;
+      }
+    }
+    Arrays.sort(cles);
+    var joursDesOperations = new long[nbOperations];
+    var montants = new double[nbOperations];
+    var deviseDuCompte = scenario.devises()[devisesDesNoeuds[n]];
+    for (i = 0; i < nbOperations; i++) {
+      var jour = cles[i] / indicesDesFlux.length + premiereOperation;
+      var f = indicesDesFlux[(int) (cles[i] % indicesDesFlux.length)];
+      var taux =
+          devisesDesFlux[f] == devisesDesNoeuds[n]
+              ? 1
+              : scenario.devises()[devisesDesFlux[f]].valeurEnAriary(jour)
+                  / deviseDuCompte.valeurEnAriary(jour);
+      joursDesOperations[i] = jour;
+      montants[i] = montantsDesFlux[f] * scenario.facteursDesFlux()[f] * taux;
+    }
+
+    var estUneDette = possessions[n] instanceof Dette;
+    var fluxImpossible = false;
+    var solde = valeursInitiales[n];
+    var operation = 0;
+    while (operation < nbOperations && joursDesOperations[operation] < premierJour) {
+      solde += montants[operation++];
+    }
+    for (int j = 0; j < valeursDuNoeud.length; j++) {
+      var jour = premierJour + j;
+      var operationDuJour = false;
+      while (operation < nbOperations && joursDesOperations[operation] == jour) {
+        solde += montants[operation++];
+        operationDuJour = true;
+      }
+      var ouvert = jour >= ouvertures[n];
+      valeursDuNoeud[j] = ouvert ? solde : 0;
+      if (operationDuJour && ouvert && !estUneDette && solde < 0) {
+        fluxImpossible = true;
+      }
+    }
+    return fluxImpossible;
+  }
+
+  Scenario scenarioDeBase() {
+    var facteurs = new double[flux.length];
+    Arrays.fill(facteurs, 1);
+    return new Scenario(
+        tauxDAppreciation.clone(), devises.clone(), facteurs, new long[flux.length]);
+  }
+
+  int indexDevise(Devise devise) {
+    for (int d = 0; d < devises.length; d++) {
+      if (devises[d].equals(devise)) {
+        return d;
+      }
+    }
+    throw new IllegalArgumentException("Devise absente du plan: " + devise.nom());
+  }
+
+  int indexFlux(FluxArgent fluxArgent) {
+    for (int f = 0; f < flux.length; f++) {
+      if (flux[f] == fluxArgent) {
+        return f;
+      }
+    }
+    throw new IllegalArgumentException("Flux absent du plan: " + fluxArgent.nom());
+  }
+
+  record Scenario(
+      double[] tauxDAppreciationDesNoeuds,
+      Devise[] devises,
+      double[] facteursDesFlux,
+      long[] decalagesDesFlux) {}
+
+  record ValeursDuScenario(
+      double[][] valeurs, double[] valeursPatrimoine, boolean fluxImpossible) {}
+
+  int noeud(Possession possession) {
+    var noeud = noeuds.get(possession);
+    if (noeud == null) {
+      throw new IllegalArgumentException("Possession absente du plan: " + possession.nom());
+    }
+    return noeud;
+  }
+
+  Devise devise(int noeud) {
+    return devises[devisesDesNoeuds[noeud]];
+  }
+
+  Possession reconstruire(int noeud, LocalDate t, double[][] valeurs, int jour) {
+    var possession = possessions[noeud];
+    var valeur = new Argent(valeurs[noeud][jour], devise(noeud));
+    return switch (genres[noeud]) {
+      case COMPTE -> {
+        var compte = (Compte) possession;
+        if (t.isBefore(compte.getDateOuverture())) {
+          yield new Compte(compte.nom(), t, valeur);
+        }
+        if (compte instanceof Dette) {
+          yield new Dette(compte.nom(), t, valeur);
+        }
+        if (compte instanceof Creance) {
+          yield new Creance(compte.nom(), t, valeur);
+        }
+        yield Compte.projection(
+            compte.nom(),
+            compte.getDateOuverture(),
+            t,
+            valeur,
+            new HashSet<>(compte.getFluxArgents()));
+      }
+      case MATERIEL -> {
+        var materiel = (Materiel) possession;
+        yield new Materiel(
+            materiel.nom(),
+            materiel.getDateAcquisition(),
+            t,
+            valeur,
+            materiel.getTauxDAppreciationAnnuelle());
+      }
+      case GROUPE ->
+          new GroupePossession(
+              possession.nom(),
+              possession.devise(),
+              t,
+              ((GroupePossession) possession)
+                  .getPossessions().stream()
+                      .map(p -> reconstruire(noeuds.get(p), t, valeurs, jour))
+                      .collect(toSet()));
+      default -> possession.projectionFuture(t);
+    };
+  }
+
+  static double montant(Argent argent) {
+    // Argent::montant is purposefully private: ppMontant is the only way to read it
+    return parseDouble(argent.ppMontant());
+  }
+
+  private record NoeudCompile(
+      byte genre,
+      long ouverture,
+      double tauxDAppreciation,
+      List<Pair<Long, Double>> operations,
+      List<Integer> membres) {}
+
+  private static class Compilateur {
+    private final Patrimoine patrimoine;
+    private final LocalDate fin;
+    private final Map<Possession, Integer> noeuds = new IdentityHashMap<>();
+    private final List<Possession> possessions = new ArrayList<>();
+    private final List<NoeudCompile> noeudsCompiles = new ArrayList<>();
+    private final List<Devise> devises = new ArrayList<>();
+    private final List<FluxArgent> flux = new ArrayList<>();
+    private final List<int[]> fluxDesNoeuds = new ArrayList<>();
+
+    private Compilateur(Patrimoine patrimoine, LocalDate fin) {
+      this.patrimoine = patrimoine;
+      this.fin = fin;
+    }
+
+    private int indexDevise(Devise devise) {
+      var index = devises.indexOf(devise);
+      if (index >= 0) {
+        return index;
+      }
+      devises.add(devise);
+      return devises.size() - 1;
+    }
+
+    private int compiler(Possession possession) {
+      var noeud = noeuds.get(possession);
+      if (noeud != null) {
+        return noeud;
+      }
+
+      // Members are compiled first so that a single pass over the nodes can evaluate groups
+      var noeudCompile =
+          switch (possession) {
+            case Compte compte -> compte(compte);
+            case Materiel materiel ->
+                new NoeudCompile(
+                    MATERIEL,
+                    materiel.getDateAcquisition().toEpochDay(),
+                    materiel.getTauxDAppreciationAnnuelle(),
+                    List.of(),
+                    List.of());
+            case GroupePossession groupe ->
+                new NoeudCompile(
+                    GROUPE,
+                    Long.MIN_VALUE,
+                    0,
+                    List.of(),
+                    groupe.getPossessions().stream().map(this::compiler).toList());
+            case Correction correction ->
+                new NoeudCompile(
+                    ALIAS,
+                    Long.MIN_VALUE,
+                    0,
+                    List.of(),
+                    List.of(compiler(correction.getPossession())));
+            case CompteCorrection compteCorrection ->
+                new NoeudCompile(
+                    ALIAS,
+                    Long.MIN_VALUE,
+                    0,
+                    List.of(),
+                    List.of(compiler(compteCorrection.getCompte())));
+            case FluxArgent ignored -> constante();
+            case TransfertArgent ignored -> constante();
+            case RemboursementDette ignored -> constante();
+            default -> new NoeudCompile(AUTRE, Long.MIN_VALUE, 0, List.of(), List.of());
+          };
+      possessions.add(possession);
+      noeudsCompiles.add(noeudCompile);
+      fluxDesNoeuds.add(possession instanceof Compte compte ? indexerFlux(compte) : null);
+      indexDevise(possession.devise());
+      noeuds.put(possession, possessions.size() - 1);
+      return possessions.size() - 1;
+    }
+
+    private NoeudCompile compte(Compte compte) {
+      var devise = compte.devise();
+      var operations = new ArrayList<Pair<Long, Double>>();
+      for (var f : compte.getFluxArgents()) {
+        var fluxMensuel = montant(f.getFluxMensuel());
+        var deviseDuFlux = f.getFluxMensuel().devise();
+        for (var d : f.datesDOperation(compte.debutDesOperations(), fin)) {
+          operations.add(
+              Pair.of(
+                  d.toEpochDay(), fluxMensuel * TauxDeChangeTable.taux(deviseDuFlux, devise, d)));
+        }
+      }
+      operations.sort(comparingLong(Pair::first));
+      return new NoeudCompile(
+          COMPTE, compte.getDateOuverture().toEpochDay(), 0, operations, List.of());
+    }
+
+    private int[] indexerFlux(Compte compte) {
+      var indices = new int[compte.getFluxArgents().size()];
+      var i = 0;
+      for (var f : compte.getFluxArgents()) {
+        flux.add(f);
+        indexDevise(f.getFluxMensuel().devise());
+        indices[i++] = flux.size() - 1;
+      }
+      return indices;
+    }
+
+    private static NoeudCompile constante() {
+      return new NoeudCompile(CONSTANTE, Long.MIN_VALUE, 0, List.of(), List.of());
+    }
+  }
+}
@@ -27,6 +27,7 @@ import school.hei.patrimoine.visualisation.swing.ihm.flux.FluxJournaliersIHM;
 import school.hei.patrimoine.visualisation.swing.ihm.selecteur.SelecteurGrapheConfIHM;
 import school.hei.patrimoine.visualisation.swing.ihm.selecteur.SelecteurPatrimoineIHM;
 import school.hei.patrimoine.visualisation.swing.ihm.selecteur.SelecteurPeriodeIHM;
+import school.hei.patrimoine.visualisation.swing.modele.EvolutionsRecentes;
 import school.hei.patrimoine.visualisation.swing.modele.GrapheConfObservable;
 import school.hei.patrimoine.visualisation.swing.modele.PatrimoinesVisualisables;
 
@@ -44,10 +45,16 @@ public class MainIHM extends JFrame implements Observer {
   private final SelecteurGrapheConfIHM selecteurGrapheConfIHM;
 
   public MainIHM(List<Patrimoine> patrimoines, int closeOperation) {
+    this(patrimoines, closeOperation, new EvolutionsRecentes());
+  }
+
+  public MainIHM(
+      List<Patrimoine> patrimoines, int closeOperation, EvolutionsRecentes evolutionsRecentes) {
     List<Patrimoine> patrimoinesAvecPersonnes = new ArrayList<>();
     patrimoinesAvecPersonnes.addAll(patrimoines);
     patrimoinesAvecPersonnes.addAll(patrimoinesPersonnels(patrimoines));
-    this.patrimoinesVisualisables = new PatrimoinesVisualisables(patrimoinesAvecPersonnes);
+    this.patrimoinesVisualisables =
+        new PatrimoinesVisualisables(patrimoinesAvecPersonnes, evolutionsRecentes);
     this.patrimoinesVisualisables.addObserver(this);
 
     this.selecteurPatrimoineIHM =
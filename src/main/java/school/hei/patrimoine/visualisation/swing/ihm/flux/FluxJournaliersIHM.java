@@ -1,5 +1,6 @@
 package school.hei.patrimoine.visualisation.swing.ihm.flux;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 import school.hei.patrimoine.modele.evolution.FluxJournalier;
 import school.hei.patrimoine.visualisation.swing.modele.PatrimoinesVisualisables;
@@ -22,6 +23,9 @@ public final class FluxJournaliersIHM extends FluxIHM {
 
   @Override
   protected Set<FluxJournalier> flux() {
-    return patrimoinesVisualisables.getEvolutionPatrimoine().getFluxJournaliers();
+    var evolutionPatrimoine = patrimoinesVisualisables.getEvolutionPatrimoine();
+    return new LinkedHashSet<>(
+        evolutionPatrimoine.fluxJournaliers(
+            evolutionPatrimoine.getDebut(), evolutionPatrimoine.getFin()));
   }
 }
@@ -1,19 +1,29 @@
 package school.hei.patrimoine.visualisation.swing.ihm.google.modele;
 
+import static school.hei.patrimoine.patrilang.PatriLangTranspiler.CAS_FILE_EXTENSION;
 import static school.hei.patrimoine.patrilang.PatriLangTranspiler.transpileToutCas;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import school.hei.patrimoine.cas.Cas;
 import school.hei.patrimoine.cas.CasSet;
+import school.hei.patrimoine.modele.recouppement.CacheDeRecoupement;
 import school.hei.patrimoine.modele.recouppement.CompteGetterFactory;
+import school.hei.patrimoine.modele.recouppement.RecoupeurDeCasSet;
 import school.hei.patrimoine.visualisation.swing.ihm.google.component.app.AppContext;
 import school.hei.patrimoine.visualisation.swing.ihm.google.component.files.FileSideBar;
 
 public class CasSetSetter {
   private final List<State.StateObserverCallbackRunnable> observers;
+  private final CacheDeRecoupement cacheDeRecoupement = new CacheDeRecoupement();
 
   private static final CasSetSetter INSTANCE = new CasSetSetter();
 
@@ -30,8 +40,10 @@ public class CasSetSetter {
     if (!isAnyFileModified()) {
       return;
     }
-    var plannedCasSet = transpileToutCas(FileSideBar.getPlannedCasSetFile().getAbsolutePath());
-    var doneCasSet = transpileToutCas(FileSideBar.getDoneCasSetFile().getAbsolutePath());
+    var plannedCasSetFile = FileSideBar.getPlannedCasSetFile();
+    var doneCasSetFile = FileSideBar.getDoneCasSetFile();
+    var plannedCasSet = transpileToutCas(plannedCasSetFile.getAbsolutePath());
+    var doneCasSet = transpileToutCas(doneCasSetFile.getAbsolutePath());
 
     globalState()
         .update(
@@ -41,13 +53,64 @@ public class CasSetSetter {
                 "plannedCasSet",
                 plannedCasSet,
                 "doneCasSet",
-                doneCasSet));
+                doneCasSet,
+                "plannedEmpreintes",
+                empreintes(plannedCasSetFile, plannedCasSet),
+                "doneEmpreintes",
+                empreintes(doneCasSetFile, doneCasSet)));
 
     this.observers.forEach(State.StateObserverCallbackRunnable::run);
 
     globalState().update("isAnyFileModified", false);
   }
 
+  // Only the cas whose files changed since the last save are reconciled again
+  public RecoupeurDeCasSet recoupeur() {
+    return RecoupeurDeCasSet.incremental(
+        plannedCasSet(),
+        doneCasSet(),
+        globalState().get("plannedEmpreintes"),
+        globalState().get("doneEmpreintes"),
+        cacheDeRecoupement);
+  }
+
+  // A cas is read from its own file and from the tout cas file that declares it: without its own
+  // file, it is not cached
+  private static Map<String, String> empreintes(File casSetFile, CasSet casSet) {
+    var empreintes = new HashMap<String, String>();
+    var toutCas = lire(casSetFile);
+    casSet
+        .set()
+        .forEach(
+            cas -> {
+              var nom = cas.patrimoine().nom();
+              var casFile = new File(casSetFile.getParentFile(), nom + CAS_FILE_EXTENSION);
+              if (casFile.isFile()) {
+                empreintes.put(nom, empreinte(toutCas, lire(casFile)));
+              }
+            });
+    return empreintes;
+  }
+
+  private static byte[] lire(File file) {
+    try {
+      return Files.readAllBytes(file.toPath());
+    } catch (IOException e) {
+      throw new RuntimeException("Error reading cas file: " + file.getName(), e);
+    }
+  }
+
+  private static String empreinte(byte[] toutCas, byte[] cas) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(toutCas);
+      digest.update(cas);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public Cas getCas(File file, CasSet casSet) {
     var fileName = file.getName();
     var baseName = fileName.contains(".") ? fileName.substring(0, fileName.indexOf('.')) : fileName;
@@ -18,7 +18,6 @@ import school.hei.patrimoine.cas.CasSet;
 import school.hei.patrimoine.cas.CasSetAnalyzer;
 import school.hei.patrimoine.google.model.Pagination;
 import school.hei.patrimoine.modele.objectif.ObjectifExeption;
-import school.hei.patrimoine.modele.recouppement.RecoupeurDeCasSet;
 import school.hei.patrimoine.visualisation.swing.ihm.google.component.ObjectifNonAtteintsDialog;
 import school.hei.patrimoine.visualisation.swing.ihm.google.component.PlaceholderTextField;
 import school.hei.patrimoine.visualisation.swing.ihm.google.component.app.LazyPage;
@@ -33,6 +32,7 @@ import school.hei.patrimoine.visualisation.swing.ihm.google.modele.AsyncTask;
 import school.hei.patrimoine.visualisation.swing.ihm.google.modele.CasSetSetter;
 import school.hei.patrimoine.visualisation.swing.ihm.google.modele.Debouncer;
 import school.hei.patrimoine.visualisation.swing.ihm.google.modele.State;
+import school.hei.patrimoine.visualisation.swing.modele.EvolutionsRecentes;
 
 @Getter
 @Slf4j
@@ -42,6 +42,7 @@ public class PatriLangFilesPage extends LazyPage {
 
   private final State state;
   private final CasSetSetter casSetSetter;
+  private final EvolutionsRecentes evolutionsRecentes = new EvolutionsRecentes();
 
   private final HtmlViewer htmlViewer;
   private Button addImprevuButton;
@@ -190,11 +191,10 @@ public class PatriLangFilesPage extends LazyPage {
 
   private void showCasSetAnalyser() {
     AsyncTask.<CasSet>builder()
-        .task(
-            () ->
-                RecoupeurDeCasSet.of(casSetSetter.plannedCasSet(), casSetSetter.doneCasSet())
-                    .getRecouped())
-        .onSuccess(recoupedCasSet -> new CasSetAnalyzer(DISPOSE_ON_CLOSE).accept(recoupedCasSet))
+        .task(() -> casSetSetter.recoupeur().getRecouped())
+        .onSuccess(
+            recoupedCasSet ->
+                new CasSetAnalyzer(DISPOSE_ON_CLOSE, evolutionsRecentes).accept(recoupedCasSet))
         .onError(
             error -> {
               while (error != null) {
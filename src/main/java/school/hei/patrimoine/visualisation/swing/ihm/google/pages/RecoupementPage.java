@@ -47,6 +47,8 @@ public class RecoupementPage extends LazyPage {
   private final PossessionRecoupeeListPanel possessionRecoupeeListPanel;
 
   private final PieceJustificativeMatcher pjMatcher = new PieceJustificativeMatcher();
+  private PossessionRecoupeeProvider provider;
+  private Set<Compte> providerComptes;
 
   public RecoupementPage() {
     super(PAGE_NAME);
@@ -224,7 +226,7 @@ public class RecoupementPage extends LazyPage {
       case EXECUTE_SANS_CORRECTION -> statusToKeep.add(RecoupementStatus.EXECUTE_SANS_CORRECTION);
     }
 
-    var provider = new PossessionRecoupeeProvider(casSetComptes);
+    var provider = provider(casSetComptes);
     var meta = new PossessionRecoupeeProvider.Meta(plannedCas, doneCas);
     var filter =
         new PossessionRecoupeeProvider.Filter(
@@ -238,6 +240,14 @@ public class RecoupementPage extends LazyPage {
     return result.possessionRecoupees();
   }
 
+  private synchronized PossessionRecoupeeProvider provider(Set<Compte> casSetComptes) {
+    if (provider == null || providerComptes != casSetComptes) {
+      provider = new PossessionRecoupeeProvider(casSetComptes);
+      providerComptes = casSetComptes;
+    }
+    return provider;
+  }
+
   @Override
   protected void update() {
     if (state.get("selectedFile") == null) {
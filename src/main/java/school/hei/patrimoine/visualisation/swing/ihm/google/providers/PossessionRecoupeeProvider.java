@@ -10,6 +10,7 @@ import school.hei.patrimoine.cas.Cas;
 import school.hei.patrimoine.modele.possession.Compte;
 import school.hei.patrimoine.modele.recouppement.CompteGetterFactory;
 import school.hei.patrimoine.modele.recouppement.PossessionRecoupee;
+import school.hei.patrimoine.modele.recouppement.RecoupementResult;
 import school.hei.patrimoine.modele.recouppement.RecoupementStatus;
 import school.hei.patrimoine.modele.recouppement.RecoupeurDePossessions;
 import school.hei.patrimoine.visualisation.swing.ihm.google.providers.model.Pagination;
@@ -17,6 +18,8 @@ import school.hei.patrimoine.visualisation.swing.ihm.google.providers.model.Pagi
 @RequiredArgsConstructor
 public class PossessionRecoupeeProvider {
   private final Set<Compte> casSetComptes;
+  private Meta dernierMeta;
+  private RecoupementResult dernierResultat;
 
   @Builder
   public record Meta(Cas planned, Cas done) {}
@@ -27,14 +30,7 @@ public class PossessionRecoupeeProvider {
   public record Result(List<PossessionRecoupee> possessionRecoupees, int totalPage) {}
 
   public Result getList(Meta meta, Filter filter) {
-    var recoupeur =
-        RecoupeurDePossessions.of(
-            meta.planned().getFinSimulation(),
-            meta.planned().patrimoine(),
-            meta.done().patrimoine(),
-            CompteGetterFactory.make(meta.done(), casSetComptes));
-
-    var all = recoupeur.getPossessionsRecoupees();
+    var all = resultat(meta).getPossessionsRecoupees();
     var filterName = filter.filterName() == null ? "" : filter.filterName().trim().toLowerCase();
 
     var filtered =
@@ -58,4 +54,21 @@ public class PossessionRecoupeeProvider {
     int totalPage = (int) Math.ceil((double) filtered.size() / filter.pagination().size());
     return new Result(filtered.subList(from, to), totalPage);
   }
+
+  // Paging and filtering reuse the reconciliation as long as the same cas are displayed
+  private synchronized RecoupementResult resultat(Meta meta) {
+    if (dernierMeta == null
+        || dernierMeta.planned() != meta.planned()
+        || dernierMeta.done() != meta.done()) {
+      dernierResultat =
+          RecoupeurDePossessions.of(
+                  meta.planned().getFinSimulation(),
+                  meta.planned().patrimoine(),
+                  meta.done().patrimoine(),
+                  CompteGetterFactory.make(meta.done(), casSetComptes))
+              .getResult();
+      dernierMeta = meta;
+    }
+    return dernierResultat;
+  }
 }
@@ -1,6 +1,9 @@
 package school.hei.patrimoine.visualisation.swing.ihm.selecteur;
 
 import static java.awt.FlowLayout.LEFT;
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.evolution.Resolution.HEBDOMADAIRE;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -30,7 +33,7 @@ public class SelecteurPeriodeIHM extends JPanel implements Observer {
     this.patrimoinesVisualisables.addObserver(this);
 
     configurePeriodeEvolution();
-    new FixedSizer().accept(this, new Dimension(500, 35));
+    new FixedSizer().accept(this, new Dimension(700, 35));
   }
 
   private void configurePeriodeEvolution() {
@@ -54,6 +57,21 @@ public class SelecteurPeriodeIHM extends JPanel implements Observer {
                     patrimoinesVisualisables.setFinEvolution(
                         // note(fresh-evolution-in-lambda)
                         toLocalDate(e)))));
+    configureResolution();
+  }
+
+  private void configureResolution() {
+    this.add(new JLabel("Par"));
+    var resolutions = new JComboBox<>(new String[] {"jour", "semaine", "fin de mois"});
+    resolutions.addActionListener(
+        e ->
+            patrimoinesVisualisables.setRésolution(
+                switch (resolutions.getSelectedIndex()) {
+                  case 1 -> HEBDOMADAIRE;
+                  case 2 -> FIN_DE_MOIS;
+                  default -> JOURNALIERE;
+                }));
+    this.add(resolutions);
   }
 
   private LocalDate toLocalDate(ActionEvent e) {
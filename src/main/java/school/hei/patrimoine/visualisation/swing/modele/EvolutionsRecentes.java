@@ -0,0 +1,50 @@
+package school.hei.patrimoine.visualisation.swing.modele;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.PointsDeControle;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.Resolution;
+
+// Last evolution of each cas of a session: reopening an edited cas set recomputes what changed
+public final class EvolutionsRecentes {
+  private final Map<String, EvolutionPatrimoine> parCas = new HashMap<>();
+  private final PointsDeControle pointsDeControle;
+
+  public EvolutionsRecentes() {
+    this(PointsDeControle.TRIMESTRIELS);
+  }
+
+  public EvolutionsRecentes(PointsDeControle pointsDeControle) {
+    this.pointsDeControle = pointsDeControle;
+  }
+
+  public synchronized EvolutionPatrimoine evolution(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin, Resolution resolution) {
+    // Date jumps project accounts from their nearest point de contrôle
+    try (var contexte = ContexteDeProjection.ouvrir(pointsDeControle)) {
+      return evolutionDansLeContexte(patrimoine, debut, fin, resolution);
+    }
+  }
+
+  private EvolutionPatrimoine evolutionDansLeContexte(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin, Resolution resolution) {
+    var précédente = parCas.get(patrimoine.nom());
+    EvolutionPatrimoine evolution;
+    if (précédente != null
+        && précédente.getDebut().equals(debut)
+        && précédente.getFin().equals(fin)
+        && précédente.getResolution().equals(resolution)) {
+      // Edited patrimoines only recompute the possessions impacted by the edit
+      evolution =
+          précédente.getPatrimoine() == patrimoine ? précédente : précédente.recalculee(patrimoine);
+    } else {
+      evolution = new EvolutionPatrimoine(patrimoine.nom(), patrimoine, debut, fin, resolution);
+    }
+    parCas.put(patrimoine.nom(), evolution);
+    return evolution;
+  }
+}
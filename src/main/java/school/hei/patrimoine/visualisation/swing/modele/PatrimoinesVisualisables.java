@@ -7,17 +7,26 @@ import java.util.List;
 import lombok.Getter;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.Resolution;
 
 public final class PatrimoinesVisualisables extends ChangingObservable {
 
+  private final EvolutionsRecentes evolutionsRecentes;
   @Getter private final List<Patrimoine> patrimoines;
   private Patrimoine patrimoineSélectionné;
   private LocalDate débutEvolution;
   private LocalDate finEvolution;
+  @Getter private Resolution résolution = Resolution.JOURNALIERE;
 
   public PatrimoinesVisualisables(List<Patrimoine> patrimoines) {
+    this(patrimoines, new EvolutionsRecentes());
+  }
+
+  public PatrimoinesVisualisables(
+      List<Patrimoine> patrimoines, EvolutionsRecentes evolutionsRecentes) {
     super();
     this.patrimoines = patrimoines;
+    this.evolutionsRecentes = evolutionsRecentes;
     this.patrimoineSélectionné = patrimoines.getFirst();
 
     // Default date values of graphic evolution
@@ -39,6 +48,11 @@ public final class PatrimoinesVisualisables extends ChangingObservable {
     change();
   }
 
+  public void setRésolution(Resolution résolution) {
+    this.résolution = résolution;
+    change();
+  }
+
   public Patrimoine selectionne(String nom) {
     this.patrimoineSélectionné =
         patrimoines.stream().filter(patrimoine -> nom.equals(patrimoine.nom())).findFirst().get();
@@ -48,7 +62,7 @@ public final class PatrimoinesVisualisables extends ChangingObservable {
   }
 
   public EvolutionPatrimoine getEvolutionPatrimoine() {
-    return new EvolutionPatrimoine(
-        patrimoineSélectionné.nom(), patrimoineSélectionné, débutEvolution, finEvolution);
+    return evolutionsRecentes.evolution(
+        patrimoineSélectionné, débutEvolution, finEvolution, résolution);
   }
 }
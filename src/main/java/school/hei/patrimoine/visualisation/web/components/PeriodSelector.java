@@ -1,7 +1,13 @@
 package school.hei.patrimoine.visualisation.web.components;
 
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.evolution.Resolution.HEBDOMADAIRE;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
+
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.select.Select;
+import school.hei.patrimoine.modele.evolution.Resolution;
 import school.hei.patrimoine.visualisation.web.states.PatrimoinesState;
 
 public class PeriodSelector extends HorizontalLayout {
@@ -20,7 +26,20 @@ public class PeriodSelector extends HorizontalLayout {
     startDateSelector.addValueChangeListener(e -> patrimoinesState.setEvolutionStart(e.getValue()));
     endDateSelector.addValueChangeListener(e -> patrimoinesState.setEvolutionEnd(e.getValue()));
 
+    var resolutionSelector = new Select<Resolution>();
+    resolutionSelector.setLabel("Résolution");
+    resolutionSelector.setItems(JOURNALIERE, HEBDOMADAIRE, FIN_DE_MOIS);
+    resolutionSelector.setItemLabelGenerator(
+        resolution -> {
+          if (HEBDOMADAIRE.equals(resolution)) {
+            return "Semaine";
+          }
+          return FIN_DE_MOIS.equals(resolution) ? "Fin de mois" : "Jour";
+        });
+    resolutionSelector.setValue(patrimoinesState.getResolution());
+    resolutionSelector.addValueChangeListener(e -> patrimoinesState.setResolution(e.getValue()));
+
     setWidthFull();
-    add(startDateSelector, endDateSelector);
+    add(startDateSelector, endDateSelector, resolutionSelector);
   }
 }
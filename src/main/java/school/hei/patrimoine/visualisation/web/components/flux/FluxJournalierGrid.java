@@ -1,7 +1,5 @@
 package school.hei.patrimoine.visualisation.web.components.flux;
 
-import static java.util.Comparator.comparing;
-
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import java.util.Observable;
@@ -26,9 +24,9 @@ public class FluxJournalierGrid extends RoundedGrid<FluxJournalier> implements O
 
   @Override
   public void update(Observable observable, Object o) {
+    var evolutionPatrimoine = this.patrimoinesState.getEvolutionPatrimoine();
     setItems(
-        this.patrimoinesState.getEvolutionPatrimoine().getFluxJournaliers().stream()
-            .sorted(comparing(FluxJournalier::date))
-            .toList());
+        evolutionPatrimoine.fluxJournaliers(
+            evolutionPatrimoine.getDebut(), evolutionPatrimoine.getFin()));
   }
 }
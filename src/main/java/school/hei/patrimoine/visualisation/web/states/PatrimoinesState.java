@@ -4,15 +4,28 @@ import static java.time.LocalDate.now;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.Getter;
+import school.hei.patrimoine.modele.ContexteDeProjection;
 import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.PointsDeControle;
 import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.Resolution;
 
 public final class PatrimoinesState extends State {
+  // Dedicated to evolutions so that a long window does not starve the common pool of the server
+  private static final ExecutorService EVOLUTION_EXECUTOR =
+      Executors.newFixedThreadPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+          Thread.ofPlatform().daemon().name("evolution-patrimoine-", 0).factory());
+
   @Getter private final List<Patrimoine> patrimoines;
   private Patrimoine selectedPatrimoine;
   private LocalDate evolutionStart;
   private LocalDate evolutionEnd;
+  @Getter private Resolution resolution = Resolution.JOURNALIERE;
+  private final PointsDeControle pointsDeControle = PointsDeControle.TRIMESTRIELS;
 
   public PatrimoinesState(List<Patrimoine> patrimoines) {
     this.patrimoines = patrimoines;
@@ -31,13 +44,26 @@ public final class PatrimoinesState extends State {
     change();
   }
 
+  public void setResolution(Resolution resolution) {
+    this.resolution = resolution;
+    change();
+  }
+
   public void setSelectedPatrimoine(Patrimoine patrimoine) {
     this.selectedPatrimoine = patrimoine;
     change();
   }
 
   public EvolutionPatrimoine getEvolutionPatrimoine() {
-    return new EvolutionPatrimoine(
-        this.selectedPatrimoine.getNom(), this.selectedPatrimoine, evolutionStart, evolutionEnd);
+    // Date jumps project accounts from their nearest point de contrôle
+    try (var contexte = ContexteDeProjection.ouvrir(pointsDeControle)) {
+      return new EvolutionPatrimoine(
+          this.selectedPatrimoine.getNom(),
+          this.selectedPatrimoine,
+          evolutionStart,
+          evolutionEnd,
+          resolution,
+          EVOLUTION_EXECUTOR);
+    }
   }
 }
@@ -1,11 +1,24 @@
 package school.hei.patrimoine.cas;
 
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
 import static org.junit.jupiter.api.Assertions.*;
 import static school.hei.patrimoine.conf.TestUtils.*;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
 
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.objectif.Objectif;
 import school.hei.patrimoine.modele.objectif.ObjectifExeption;
+import school.hei.patrimoine.modele.objectif.ObjectifNonAtteint;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Possession;
 
 class CasSetAnalyzerTest {
 
@@ -25,4 +38,104 @@ class CasSetAnalyzerTest {
   void cas_set_objective_achieved_ko() {
     assertThrows(ObjectifExeption.class, () -> analyzer.accept(casSet2()));
   }
+
+  @Test
+  void cas_set_without_objectives_verifies_each_cas() {
+    assertTrue(casSet1().verifier().isEmpty());
+  }
+
+  @Test
+  void cas_set_verifies_the_objectives_of_each_cas_in_one_batch() {
+    var atteint = new CasAvecObjectif("Atteint", 1_000, 1_000);
+    var nonAtteint = new CasAvecObjectif("NonAtteint", 1_000, 5_000);
+    var casSet = new CasSet(Set.of(atteint, nonAtteint), ariary(2_000));
+
+    var verification = casSet.verification();
+
+    assertEquals(4, verification.objectifsVerifies().size());
+    assertEquals(
+        Set.of(new ObjectifNonAtteint(nonAtteint.compte, nonAtteint.objectifDuCompte)),
+        verification.nonAtteints());
+  }
+
+  @Test
+  void tout_cas_verifies_the_objectives_of_each_cas_with_the_final_objective() {
+    var atteint = new CasAvecObjectif("Atteint", 1_000, 1_000);
+    var nonAtteint = new CasAvecObjectif("NonAtteint", 1_000, 5_000);
+    var casSet = new CasSet(Set.of(atteint, nonAtteint), ariary(2_000));
+
+    var nonAtteints = new ToutCas(AJD, FIN, casSet).verifier();
+
+    assertTrue(
+        nonAtteints.contains(
+            new ObjectifNonAtteint(nonAtteint.compte, nonAtteint.objectifDuCompte)));
+    assertTrue(nonAtteints.stream().noneMatch(o -> o.objectivable() == atteint.compte));
+  }
+
+  @Test
+  void tout_cas_ne_compte_pas_deux_fois_le_patrimoine_des_possesseurs() {
+    var cas = new CasAvecObjectif("Seul", 1_000, 1_000);
+    var possesseur = cas.patrimoine().getPossesseurs().keySet().iterator().next();
+
+    var tout = new ToutCas(AJD, FIN, new CasSet(Set.of(cas), ariary(1_000))).patrimoine();
+
+    assertEquals(Map.of(possesseur, ToutCas.PART_DES_POSSESSEURS), tout.getPossesseurs());
+    assertEquals(ariary(1_000), possesseur.patrimoine(MGA, AJD).getValeurComptable());
+  }
+
+  @Test
+  void tout_cas_somme_les_cas_sans_rien_ajouter_au_patrimoine_de_leurs_possesseurs() {
+    var premier = new CasAvecObjectif("Premier", 1_000, 1_000);
+    var second = new CasAvecObjectif("Second", 2_000, 2_000);
+    var possesseurDuPremier = premier.patrimoine().getPossesseurs().keySet().iterator().next();
+    var possesseurDuSecond = second.patrimoine().getPossesseurs().keySet().iterator().next();
+
+    var tout =
+        new ToutCas(AJD, FIN, new CasSet(Set.of(premier, second), ariary(3_000))).patrimoine();
+
+    assertEquals(ariary(3_000).convertir(tout.getDevise(), AJD), tout.getValeurComptable());
+    assertEquals(ariary(1_000), possesseurDuPremier.patrimoine(MGA, AJD).getValeurComptable());
+    assertEquals(ariary(2_000), possesseurDuSecond.patrimoine(MGA, AJD).getValeurComptable());
+  }
+
+  private static final LocalDate AJD = LocalDate.of(2025, JANUARY, 1);
+  private static final LocalDate FIN = LocalDate.of(2025, DECEMBER, 31);
+
+  private static class CasAvecObjectif extends Cas {
+    private final String nom;
+    private final Compte compte;
+    private final int objectif;
+    private Objectif objectifDuCompte;
+
+    private CasAvecObjectif(String nom, int solde, int objectif) {
+      super(AJD, FIN, new Personne(nom));
+      this.nom = nom;
+      this.compte = new Compte("Compte " + nom, AJD, ariary(solde));
+      this.objectif = objectif;
+    }
+
+    @Override
+    protected String nom() {
+      return nom;
+    }
+
+    @Override
+    protected Devise devise() {
+      return MGA;
+    }
+
+    @Override
+    protected void init() {}
+
+    @Override
+    public Set<Possession> possessions() {
+      return Set.of(compte);
+    }
+
+    @Override
+    protected void suivi() {
+      objectifDuCompte = new Objectif(compte, FIN, ariary(objectif));
+      new Objectif(patrimoine, FIN, compte.valeurComptable());
+    }
+  }
 }
@@ -2,12 +2,15 @@ package school.hei.patrimoine.modele;
 
 import static java.time.Month.SEPTEMBER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static school.hei.patrimoine.modele.Argent.ariary;
 import static school.hei.patrimoine.modele.Argent.euro;
 import static school.hei.patrimoine.modele.Devise.EUR;
 import static school.hei.patrimoine.modele.Devise.MGA;
 
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class ArgentTest {
@@ -31,4 +34,59 @@ class ArgentTest {
     assertEquals(euro(2), ariary(7_554).convertir(EUR, t.plusYears(2)));
     assertEquals(euro(2), ariary(11_414).convertir(EUR, t.minusYears(2)));
   }
+
+  @Test
+  void conversion_dans_la_meme_devise_est_l_identite() {
+    var argent = euro(12.5);
+
+    assertSame(argent, argent.convertir(EUR, LocalDate.MIN));
+    assertEquals("12.5", argent.ppMontant());
+  }
+
+  @Test
+  void sommes_en_virgule_fixe_ne_derivent_pas() {
+    var t = LocalDate.of(2024, SEPTEMBER, 1);
+    var somme = euro(0);
+    for (int i = 0; i < 1_000; i++) {
+      somme = somme.add(euro(0.1), t);
+    }
+
+    assertEquals("100.0", somme.ppMontant());
+    assertEquals("-0.3", euro(0.1).minus(euro(0.4), t).ppMontant());
+  }
+
+  @Test
+  void accumulateur_egale_la_somme_des_conversions() {
+    var t = LocalDate.of(2024, SEPTEMBER, 1);
+    var montants = List.of(ariary(1_000), euro(2), ariary(-300), euro(0.5), ariary(7));
+
+    var accumulateur = new ArgentAccumulator(MGA, t);
+    montants.forEach(accumulateur::ajouter);
+
+    var attendu =
+        montants.stream()
+            .map(a -> a.convertir(MGA, t))
+            .reduce(ariary(0), (a1, a2) -> a1.add(a2, t));
+    assertEquals(attendu, accumulateur.argent());
+    assertEquals(ariary(0), new ArgentAccumulator(MGA, t).argent());
+  }
+
+  @Test
+  void montants_non_representables_sont_refuses() {
+    assertThrows(IllegalArgumentException.class, () -> euro(Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> euro(Double.POSITIVE_INFINITY));
+    assertThrows(ArithmeticException.class, () -> euro(1e16));
+    assertThrows(ArithmeticException.class, () -> euro(9e14).add(euro(9e14), LocalDate.MIN));
+  }
+
+  @Test
+  void conversion_vers_une_devise_sans_valeur_est_refusee() {
+    var t = LocalDate.of(2024, SEPTEMBER, 1);
+    var sansValeur = new Devise("SANS VALEUR", "?", t, 0, 0.0);
+
+    // Fixed-point amounts cannot hold the Infinity and NaN that doubles used to give
+    assertThrows(IllegalArgumentException.class, () -> euro(1).convertir(sansValeur, t));
+    assertThrows(IllegalArgumentException.class, () -> ariary(0).convertir(sansValeur, t));
+    assertEquals(ariary(0), new Argent(1, sansValeur).convertir(MGA, t));
+  }
 }
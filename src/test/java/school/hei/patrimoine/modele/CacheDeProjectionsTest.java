@@ -0,0 +1,131 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.CacheDeProjections.Statistiques;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class CacheDeProjectionsTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  @AfterEach
+  void desactiver() {
+    CacheDeProjections.desactiver();
+  }
+
+  @Test
+  void projections_sont_memorisees_par_possession_et_par_date() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var jumeau = new Compte("Compte", t, ariary(1_000));
+    CacheDeProjections.activer(CacheDeProjections.CAPACITE_PAR_DEFAUT);
+
+    var valeur = CacheDeProjections.valeurComptableFuture(compte, t.plusDays(10));
+    assertSame(valeur, CacheDeProjections.valeurComptableFuture(compte, t.plusDays(10)));
+    CacheDeProjections.valeurComptableFuture(jumeau, t.plusDays(10));
+    CacheDeProjections.valeurComptableFuture(compte, t.plusDays(11));
+    assertEquals(new Statistiques(1, 3, 3), CacheDeProjections.statistiques());
+  }
+
+  @Test
+  void flux_ajoute_a_un_compte_invalide_ses_projections() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    CacheDeProjections.activer(CacheDeProjections.CAPACITE_PAR_DEFAUT);
+    assertEquals(ariary(1_000), compte.valeurComptableFuture(t.plusMonths(1)));
+
+    new FluxArgent("Salaire", compte, t, t.plusYears(1), 15, ariary(100));
+
+    assertEquals(ariary(1_100), compte.valeurComptableFuture(t.plusMonths(1)));
+    assertEquals(ariary(1_100), compte.valeurAObjectifT(t.plusMonths(1)));
+    assertEquals(new Statistiques(1, 2, 1), CacheDeProjections.statistiques());
+  }
+
+  @Test
+  void projections_de_flux_sont_memorisees() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var salaire = new FluxArgent("Salaire", compte, t, t.plusYears(1), 15, ariary(100));
+    var patrimoine = Patrimoine.of("Patrimoine", MGA, t, new Personne("Zety"), Set.of(compte));
+    CacheDeProjections.activer(CacheDeProjections.CAPACITE_PAR_DEFAUT);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(ariary(1_100), compte.valeurComptableFuture(t.plusMonths(1)));
+      assertEquals(ariary(0), salaire.valeurComptableFuture(t.plusMonths(1)));
+      assertEquals(
+          ariary(1_200), patrimoine.projectionFuture(t.plusMonths(2)).getValeurComptable());
+    }
+
+    // Projections of the patrimoine itself are not memorised, only its possessions' values
+    assertEquals(new Statistiques(4, 2, 2), CacheDeProjections.statistiques());
+  }
+
+  @Test
+  void flux_ajoute_a_un_autre_compte_n_invalide_pas_les_projections() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var autre = new Compte("Autre", t, ariary(0));
+    CacheDeProjections.activer(CacheDeProjections.CAPACITE_PAR_DEFAUT);
+    var valeur = CacheDeProjections.valeurComptableFuture(compte, t.plusMonths(1));
+
+    new FluxArgent("Salaire", autre, t, t.plusYears(1), 15, ariary(100));
+
+    assertSame(valeur, CacheDeProjections.valeurComptableFuture(compte, t.plusMonths(1)));
+    assertEquals(new Statistiques(1, 1, 1), CacheDeProjections.statistiques());
+  }
+
+  @Test
+  void cache_est_borne() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    CacheDeProjections.activer(2);
+
+    compte.valeurComptableFuture(t.plusDays(1));
+    compte.valeurComptableFuture(t.plusDays(2));
+    compte.valeurComptableFuture(t.plusDays(3));
+    compte.valeurComptableFuture(t.plusDays(1));
+
+    assertEquals(new Statistiques(0, 4, 2), CacheDeProjections.statistiques());
+    assertThrows(IllegalArgumentException.class, () -> CacheDeProjections.activer(0));
+  }
+
+  @Test
+  void cache_desactive_projette_directement() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+
+    assertEquals(ariary(1_000), CacheDeProjections.valeurComptableFuture(compte, t));
+    assertEquals(new Statistiques(0, 0, 0), CacheDeProjections.statistiques());
+  }
+
+  @Test
+  void entrees_disparaissent_avec_leur_possession() throws InterruptedException {
+    CacheDeProjections.activer(CacheDeProjections.CAPACITE_PAR_DEFAUT);
+    memoriserUnCompteAvecSonFlux();
+    assertEquals(1, CacheDeProjections.statistiques().taille());
+
+    for (int i = 0; i < 50 && CacheDeProjections.statistiques().taille() > 0; i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+
+    assertEquals(0, CacheDeProjections.statistiques().taille());
+  }
+
+  private static void memoriserUnCompteAvecSonFlux() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, t.plusYears(1), 15, ariary(100));
+    assertEquals(ariary(1_100), compte.valeurComptableFuture(t.plusMonths(1)));
+  }
+}
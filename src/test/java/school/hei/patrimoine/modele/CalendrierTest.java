@@ -0,0 +1,94 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static school.hei.patrimoine.modele.Argent.ariary;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class CalendrierTest {
+  @Test
+  void mois_et_longueurs_egalent_ceux_de_year_month() {
+    for (var jour = LocalDate.of(1899, JANUARY, 1);
+        jour.isBefore(LocalDate.of(2302, JANUARY, 1));
+        jour = jour.plusDays(13)) {
+      var mois = Calendrier.mois(jour.toEpochDay());
+      var yearMonth = YearMonth.from(jour);
+
+      assertEquals(yearMonth.getYear() * 12L + yearMonth.getMonthValue() - 1, mois);
+      assertEquals(yearMonth.atDay(1).toEpochDay(), Calendrier.premierJour(mois));
+      assertEquals(yearMonth.lengthOfMonth(), Calendrier.longueur(mois));
+    }
+  }
+
+  @Test
+  void jour_d_operation_tombe_le_dernier_jour_des_mois_courts() {
+    var fevrier2024 = Calendrier.mois(LocalDate.of(2024, FEBRUARY, 1).toEpochDay());
+    var fevrier2025 = Calendrier.mois(LocalDate.of(2025, FEBRUARY, 1).toEpochDay());
+
+    assertEquals(
+        LocalDate.of(2024, FEBRUARY, 29).toEpochDay(), Calendrier.jourDOperation(fevrier2024, 31));
+    assertEquals(
+        LocalDate.of(2025, FEBRUARY, 28).toEpochDay(), Calendrier.jourDOperation(fevrier2025, 30));
+    assertEquals(
+        LocalDate.of(2025, FEBRUARY, 15).toEpochDay(), Calendrier.jourDOperation(fevrier2025, 15));
+  }
+
+  @Test
+  void jours_d_operation_egalent_les_dates_d_operation() {
+    var compte = new Compte("compte", LocalDate.of(2024, JANUARY, 1), ariary(0));
+    var debut = LocalDate.of(2024, JANUARY, 15);
+    var fin = LocalDate.of(2026, JANUARY, 10);
+    for (var dateOperation : new int[] {0, 1, 15, 28, 29, 30, 31, 32}) {
+      var flux = new FluxArgent("flux", compte, debut, fin, dateOperation, ariary(1));
+
+      var dates = flux.datesDOperation(LocalDate.MIN, LocalDate.MAX);
+      var jours = flux.joursDOperation(LocalDate.MIN.toEpochDay(), LocalDate.MAX.toEpochDay());
+
+      assertArrayEquals(
+          datesDOperationParYearMonth(debut, fin, dateOperation).stream()
+              .mapToLong(LocalDate::toEpochDay)
+              .toArray(),
+          jours);
+      assertArrayEquals(dates.stream().mapToLong(LocalDate::toEpochDay).toArray(), jours);
+    }
+  }
+
+  @Test
+  void jours_d_operation_sur_un_siecle_egalent_les_dates_par_year_month() {
+    var compte = new Compte("compte", LocalDate.of(2024, JANUARY, 1), ariary(0));
+    var debut = LocalDate.of(2024, JANUARY, 1);
+    var fin = LocalDate.of(2124, JANUARY, 1);
+    var flux = new FluxArgent("flux", compte, debut, fin, 31, ariary(1));
+
+    assertArrayEquals(
+        datesDOperationParYearMonth(debut, fin, 31).stream()
+            .mapToLong(LocalDate::toEpochDay)
+            .toArray(),
+        flux.joursDOperation(debut.toEpochDay(), fin.toEpochDay()));
+  }
+
+  static ArrayList<LocalDate> datesDOperationParYearMonth(
+      LocalDate debut, LocalDate fin, int dateOperation) {
+    var dates = new ArrayList<LocalDate>();
+    if (dateOperation < 1) {
+      return dates;
+    }
+    for (var mois = YearMonth.from(debut);
+        !mois.isAfter(YearMonth.from(fin));
+        mois = mois.plusMonths(1)) {
+      var date = mois.atDay(Math.min(dateOperation, mois.lengthOfMonth()));
+      if (!date.isBefore(debut) && !date.isAfter(fin)) {
+        dates.add(date);
+      }
+    }
+    return dates;
+  }
+}
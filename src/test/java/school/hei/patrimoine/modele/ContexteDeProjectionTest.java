@@ -0,0 +1,118 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.PatrimoinePersonnel;
+
+@ResourceLock("ProjectionParallele")
+class ContexteDeProjectionTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  @AfterEach
+  void desactiver() {
+    ProjectionParallele.desactiver();
+  }
+
+  @Test
+  void patrimoine_partage_est_projete_une_fois_par_date() {
+    var t = AU_1ER_JANVIER_2025;
+    var rasoa = new Personne("Rasoa");
+    var rabe = new Personne("Rabe");
+    var joint = new Compte("Compte joint", t, ariary(1_000_000));
+    new FluxArgent("Loyer", joint, t, t.plusYears(1), 5, ariary(-100_000));
+    var commun = Patrimoine.of("Commun", MGA, t, Map.of(rasoa, 0.5, rabe, 0.5), Set.of(joint));
+    var consolide =
+        Patrimoine.of(
+            "Consolidé",
+            MGA,
+            t,
+            new Personne("Famille"),
+            Set.of(new PatrimoinePersonnel(commun, rasoa), new PatrimoinePersonnel(commun, rabe)));
+    var dans3mois = t.plusMonths(3);
+    var attendu = consolide.projectionFuture(dans3mois).getValeurComptable();
+
+    try (var contexte = ContexteDeProjection.ouvrir()) {
+      assertEquals(attendu, consolide.projectionFuture(dans3mois).getValeurComptable());
+      assertEquals(attendu, consolide.valeurAObjectifT(dans3mois));
+      assertSame(
+          ContexteDeProjection.projectionFuture(commun, dans3mois),
+          ContexteDeProjection.projectionFuture(commun, dans3mois));
+      assertEquals(2, contexte.getProjectionsCalculees());
+      assertEquals(5, contexte.getProjectionsReutilisees());
+    }
+    assertNull(ContexteDeProjection.courant());
+    assertNotSame(
+        ContexteDeProjection.projectionFuture(commun, dans3mois),
+        ContexteDeProjection.projectionFuture(commun, dans3mois));
+  }
+
+  @Test
+  void contextes_imbriques_et_projection_parallele_partagent_les_projections() {
+    var t = AU_1ER_JANVIER_2025;
+    var rasoa = new Personne("Rasoa");
+    var rabe = new Personne("Rabe");
+    Patrimoine.of(
+        "Commun",
+        MGA,
+        t,
+        Map.of(rasoa, 0.5, rabe, 0.5),
+        Set.of(new Compte("Compte joint", t, ariary(1_000))));
+    ProjectionParallele.activer(2, 1);
+
+    try (var contexte = ContexteDeProjection.ouvrir()) {
+      try (var imbrique = ContexteDeProjection.ouvrir()) {
+        assertSame(contexte, imbrique);
+      }
+      assertSame(contexte, ContexteDeProjection.courant());
+      rasoa.patrimoine(MGA, t).projectionFuture(t.plusDays(1));
+      rabe.patrimoine(MGA, t).projectionFuture(t.plusDays(1));
+      assertEquals(1, contexte.getProjectionsCalculees());
+      assertEquals(1, contexte.getProjectionsReutilisees());
+    }
+    ProjectionParallele.desactiver();
+
+    var personnel = rasoa.patrimoine(MGA, t);
+    var evolution = new EvolutionPatrimoine("Rasoa", personnel, t, t.plusDays(10));
+    assertEquals(
+        personnel.projectionFuture(t.plusDays(10)).getValeurComptable(),
+        evolution.getEvolutionJournaliere().get(t.plusDays(10)).getValeurComptable());
+    assertNull(ContexteDeProjection.courant());
+  }
+
+  @Test
+  void contexte_ne_retient_que_les_projections_recentes() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, t.plusYears(10), 1, ariary(100));
+    var patrimoine = Patrimoine.of("Patrimoine", MGA, t, new Personne("Rasoa"), Set.of(compte));
+    var derniere = t.plusDays(2L * ContexteDeProjection.CAPACITE);
+
+    try (var contexte = ContexteDeProjection.ouvrir()) {
+      t.datesUntil(derniere.plusDays(1))
+          .forEach(date -> ContexteDeProjection.projectionFuture(patrimoine, date));
+      assertEquals(ContexteDeProjection.CAPACITE, contexte.getProjectionsRetenues());
+      assertSame(
+          ContexteDeProjection.projectionFuture(patrimoine, derniere),
+          ContexteDeProjection.projectionFuture(patrimoine, derniere));
+      assertEquals(
+          patrimoine.projectionFuture(t).getValeurComptable(),
+          ContexteDeProjection.projectionFuture(patrimoine, t).getValeurComptable());
+      assertEquals(2L * ContexteDeProjection.CAPACITE + 2, contexte.getProjectionsCalculees());
+    }
+  }
+}
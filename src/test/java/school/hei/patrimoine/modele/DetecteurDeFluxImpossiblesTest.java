@@ -0,0 +1,72 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.evolution.DetecteurDeFluxImpossibles.fluxImpossibles;
+import static school.hei.patrimoine.modele.evolution.DetecteurDeFluxImpossibles.premierFluxImpossible;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.example.PatrimoineCresusSupplier;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.FluxJournalier;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Correction;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class DetecteurDeFluxImpossiblesTest {
+  @Test
+  void detecteur_trouve_les_memes_flux_impossibles_que_l_evolution() {
+    var cresus = new PatrimoineCresusSupplier().get();
+    assertDetecteurEgaleEvolution(
+        cresus, LocalDate.of(2024, MAY, 12), LocalDate.of(2025, JUNE, 30));
+
+    var t = LocalDate.of(2024, JANUARY, 15);
+    var courant = new Compte("Courant", t, ariary(300_000));
+    var epargne = new Compte("Épargne", t.plusMonths(2), t, euro(10));
+    var patrimoine =
+        Patrimoine.of(
+            "Découverts",
+            MGA,
+            t,
+            new Personne("Rabe"),
+            Set.of(
+                courant,
+                epargne,
+                new FluxArgent(
+                    "Loyer", courant, t.minusMonths(2), LocalDate.MAX, 31, ariary(-100_000)),
+                new FluxArgent("Salaire", courant, t, t.plusMonths(6), 5, ariary(50_000)),
+                new FluxArgent("Frais", epargne, t, LocalDate.MAX, 1, euro(-3)),
+                new Correction(new FluxArgent("Oubli", courant, t.plusDays(10), ariary(-20_000))),
+                new Dette("Dette", t, ariary(-1_000))));
+    assertDetecteurEgaleEvolution(patrimoine, t.minusMonths(1), t.plusYears(1));
+    assertEquals(
+        Optional.empty(), premierFluxImpossible(patrimoine, t.minusMonths(1), t.plusDays(5)));
+    assertThrows(
+        IllegalArgumentException.class, () -> fluxImpossibles(patrimoine, t, t.plusYears(1), 0));
+  }
+
+  private static void assertDetecteurEgaleEvolution(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var impossibles =
+        new EvolutionPatrimoine(patrimoine.getNom(), patrimoine, debut, fin)
+            .getFluxJournaliersImpossibles();
+    assertFalse(impossibles.isEmpty());
+
+    var detectes = fluxImpossibles(patrimoine, debut, fin, Integer.MAX_VALUE);
+    assertEquals(impossibles, Set.copyOf(detectes));
+    var premier = impossibles.stream().map(FluxJournalier::date).min(LocalDate::compareTo).get();
+    assertEquals(premier, premierFluxImpossible(patrimoine, debut, fin).orElseThrow().date());
+    assertEquals(2, fluxImpossibles(patrimoine, debut, fin, 2).size());
+  }
+}
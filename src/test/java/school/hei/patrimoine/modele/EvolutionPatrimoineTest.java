@@ -1,16 +1,42 @@
 package school.hei.patrimoine.modele;
 
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
 import static java.time.Month.MAY;
+import static java.time.Month.NOVEMBER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
 import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.evolution.Resolution.HEBDOMADAIRE;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.example.PatrimoineCresusSupplier;
+import school.hei.patrimoine.cas.example.PatrimoineRicheSupplier;
 import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.FluxJournalier;
 import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Correction;
 import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
 
 class EvolutionPatrimoineTest {
 
@@ -56,4 +82,250 @@ class EvolutionPatrimoineTest {
         ariary(500_000),
         evolutionJournaliere.get(LocalDate.of(2024, MAY, 17)).getValeurComptable());
   }
+
+  @Test
+  void evolution_journaliere_egale_projection_de_chaque_jour() {
+    assertEvolutionJournaliereEgaleProjectionDeChaqueJour(
+        new PatrimoineCresusSupplier().get(),
+        LocalDate.of(2024, MAY, 12),
+        LocalDate.of(2025, JUNE, 30));
+    assertEvolutionJournaliereEgaleProjectionDeChaqueJour(
+        new PatrimoineRicheSupplier().get(),
+        LocalDate.of(2024, MAY, 12),
+        LocalDate.of(2026, NOVEMBER, 5));
+  }
+
+  private static void assertEvolutionJournaliereEgaleProjectionDeChaqueJour(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var evolutionJournaliere =
+        new EvolutionPatrimoine(patrimoine.nom(), patrimoine, debut, fin).getEvolutionJournaliere();
+
+    debut
+        .datesUntil(fin.plusDays(1))
+        .forEach(
+            date -> {
+              var attendu = patrimoine.projectionFuture(date);
+              var actuel = evolutionJournaliere.get(date);
+              assertEquals(attendu.getValeurComptable(), actuel.getValeurComptable());
+              attendu
+                  .getPossessions()
+                  .forEach(
+                      p ->
+                          assertEquals(
+                              p.valeurComptable(),
+                              actuel.possessionParNom(p.nom()).valeurComptable(),
+                              date + " " + p.nom()));
+            });
+  }
+
+  @Test
+  void evolution_par_troncons_paralleles_egale_evolution_sequentielle() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var debut = LocalDate.of(2024, MAY, 12);
+    var fin = LocalDate.of(2025, NOVEMBER, 5);
+    var executeur = Executors.newFixedThreadPool(4);
+
+    var sequentielle = new EvolutionPatrimoine("Riche", patrimoine, debut, fin);
+    var parallele =
+        new EvolutionPatrimoine("Riche", patrimoine, debut, fin, JOURNALIERE, executeur, 45);
+    executeur.shutdown();
+
+    assertEquals(
+        sequentielle.serieDates(), List.copyOf(parallele.getEvolutionJournaliere().keySet()));
+    assertEquals(sequentielle.getEvolutionJournaliere(), parallele.getEvolutionJournaliere());
+    assertEquals(sequentielle.getFluxJournaliers(), parallele.getFluxJournaliers());
+    assertEquals(
+        sequentielle.getFluxJournaliersImpossibles(), parallele.getFluxJournaliersImpossibles());
+    assertArrayEquals(
+        sequentielle.getSerieComptableTemporelle().valeursPatrimoine(),
+        parallele.getSerieComptableTemporelle().valeursPatrimoine());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new EvolutionPatrimoine(
+                "Riche", patrimoine, debut, fin, JOURNALIERE, Runnable::run, 0));
+  }
+
+  private static Patrimoine patrimoineAvecSalaire(int salaire) {
+    return patrimoineAvecSalaire(salaire, 200_000);
+  }
+
+  private static Patrimoine patrimoineAvecSalaire(int salaire, int valeurOrdi) {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var courant = new Compte("Courant", t, ariary(100_000));
+    var epargne = new Compte("Epargne", t, euro(100));
+    new FluxArgent("Salaire", courant, t, t.plusYears(1), 1, ariary(salaire));
+    new FluxArgent("Loyer", courant, t, t.plusYears(1), 5, ariary(-300_000));
+    new FluxArgent("Placement", epargne, t, t.plusYears(1), 10, euro(20));
+    // Homonyms can only be told apart by their values
+    var ordi = new Materiel("Ordi", t, t, ariary(valeurOrdi), -0.1);
+    var autreOrdi = new Materiel("Ordi", t, t, ariary(100_000), -0.1);
+    return Patrimoine.of(
+        "Patrimoine avec salaire",
+        MGA,
+        t,
+        new Personne("Ilo"),
+        Set.of(courant, epargne, ordi, autreOrdi));
+  }
+
+  private static Patrimoine patrimoineAvecOrdi(boolean ordiGroupe, boolean courantCorrige) {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var courant = new Compte("Courant", t, ariary(100_000));
+    new FluxArgent("Salaire", courant, t, t.plusYears(1), 1, ariary(150_000));
+    new FluxArgent("Loyer", courant, t, t.plusYears(1), 5, ariary(-300_000));
+    var ordi = new Materiel("Ordi", t, t, ariary(2_000), -0.1);
+    var possessions = new HashSet<Possession>();
+    possessions.add(courant);
+    possessions.add(ordiGroupe ? new GroupePossession("Bureau", MGA, t, Set.of(ordi)) : ordi);
+    if (courantCorrige) {
+      possessions.add(new Correction(courant, "Oubli", t.plusDays(10), ariary(-20_000)));
+    }
+    return Patrimoine.of("Patrimoine avec ordi", MGA, t, new Personne("Ilo"), possessions);
+  }
+
+  @Test
+  void evolution_recalculee_egale_evolution_complete() {
+    var debut = LocalDate.of(2024, JANUARY, 1);
+    var fin = LocalDate.of(2024, JUNE, 30);
+    var modifications =
+        List.of(
+            List.of(patrimoineAvecSalaire(250_000), patrimoineAvecSalaire(150_000)),
+            List.of(
+                patrimoineAvecSalaire(150_000, 200_000), patrimoineAvecSalaire(150_000, 300_000)),
+            List.of(patrimoineAvecOrdi(false, false), patrimoineAvecOrdi(true, false)),
+            List.of(patrimoineAvecOrdi(true, false), patrimoineAvecOrdi(false, false)),
+            List.of(patrimoineAvecOrdi(false, false), patrimoineAvecOrdi(false, true)),
+            List.of(patrimoineAvecOrdi(false, true), patrimoineAvecOrdi(false, false)));
+    for (var resolution : List.of(JOURNALIERE, HEBDOMADAIRE)) {
+      for (var modification : modifications) {
+        var precedente =
+            new EvolutionPatrimoine("Salaire", modification.get(0), debut, fin, resolution);
+        var patrimoine = modification.get(1);
+
+        var recalculee = precedente.recalculee(patrimoine);
+        var complete = new EvolutionPatrimoine("Salaire", patrimoine, debut, fin, resolution);
+
+        assertArrayEquals(
+            complete.getSerieComptableTemporelle().valeursPatrimoine(),
+            recalculee.getSerieComptableTemporelle().valeursPatrimoine());
+        assertEquals(seriesParNom(complete), seriesParNom(recalculee));
+        assertEquals(complete.getFluxJournaliers(), recalculee.getFluxJournaliers());
+        assertEquals(
+            complete.getFluxJournaliersImpossibles(), recalculee.getFluxJournaliersImpossibles());
+        assertFalse(recalculee.getFluxJournaliersImpossibles().isEmpty());
+      }
+    }
+  }
+
+  // Homonyms keep one series each
+  private static Map<String, Set<List<Integer>>> seriesParNom(EvolutionPatrimoine evolution) {
+    var series = new HashMap<String, Set<List<Integer>>>();
+    evolution
+        .getSerieComptableTemporelle()
+        .serieValeursComptablesParPossession()
+        .forEach(
+            (p, serie) ->
+                series.computeIfAbsent(p.nom(), nom -> new HashSet<>()).add(List.copyOf(serie)));
+    return series;
+  }
+
+  @Test
+  void etats_journaliers_en_flux_egalent_l_evolution_journaliere() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var debut = LocalDate.of(2024, MAY, 12);
+    var fin = LocalDate.of(2025, MAY, 12);
+    var evolution = new EvolutionPatrimoine("Riche", patrimoine, debut, fin);
+
+    var fluxJournaliers = new HashSet<FluxJournalier>();
+    var nbEtats = new AtomicInteger();
+    evolution
+        .etatsJournaliers()
+        .forEach(
+            etat -> {
+              nbEtats.incrementAndGet();
+              var attendu = evolution.getEvolutionJournaliere().get(etat.date());
+              assertEquals(attendu.getValeurComptable(), etat.valeurComptable());
+              patrimoine
+                  .getPossessions()
+                  .forEach(
+                      p ->
+                          assertEquals(
+                              p.projectionFuture(etat.date()).valeurComptable(),
+                              etat.valeursComptables().get(p),
+                              etat.date() + " " + p.nom()));
+              fluxJournaliers.addAll(etat.fluxJournaliers());
+            });
+
+    assertEquals(evolution.serieDates().size(), nbEtats.get());
+    assertEquals(evolution.getFluxJournaliers(), fluxJournaliers);
+  }
+
+  @Test
+  void flux_journaliers_par_periode_sont_ceux_de_l_evolution() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var debut = patrimoine.getT();
+    var evolution = new EvolutionPatrimoine("Riche", patrimoine, debut, debut.plusMonths(6));
+
+    var fluxJournaliers = evolution.fluxJournaliers(debut.plusMonths(1), debut.plusMonths(3));
+
+    assertFalse(fluxJournaliers.isEmpty());
+    var fluxDeLEvolution =
+        Collections.newSetFromMap(new IdentityHashMap<FluxJournalier, Boolean>());
+    fluxDeLEvolution.addAll(evolution.getFluxJournaliers());
+    assertTrue(fluxJournaliers.stream().allMatch(fluxDeLEvolution::contains));
+    assertEquals(
+        evolution.getFluxJournaliers().stream()
+            .filter(
+                fj ->
+                    !fj.date().isBefore(debut.plusMonths(1))
+                        && !fj.date().isAfter(debut.plusMonths(3)))
+            .count(),
+        fluxJournaliers.size());
+    for (int i = 1; i < fluxJournaliers.size(); i++) {
+      assertFalse(fluxJournaliers.get(i).date().isBefore(fluxJournaliers.get(i - 1).date()));
+    }
+    assertEquals(List.of(), evolution.fluxJournaliers(debut.plusDays(1), debut));
+  }
+
+  @Test
+  void flux_impossibles_sont_detectes_a_toute_resolution() {
+    var debut = LocalDate.of(2024, JANUARY, 1);
+    var fin = LocalDate.of(2024, JUNE, 30);
+    var patrimoine = patrimoineAvecSalaire(150_000);
+    var journaliere = new EvolutionPatrimoine("Salaire", patrimoine, debut, fin);
+
+    for (var resolution : List.of(HEBDOMADAIRE, FIN_DE_MOIS)) {
+      var echantillonnee = new EvolutionPatrimoine("Salaire", patrimoine, debut, fin, resolution);
+
+      assertFalse(echantillonnee.getFluxJournaliersImpossibles().isEmpty());
+      assertEquals(
+          journaliere.getFluxJournaliersImpossibles(),
+          echantillonnee.getFluxJournaliersImpossibles());
+      assertEquals(journaliere.getFluxJournaliers(), echantillonnee.getFluxJournaliers());
+    }
+  }
+
+  @Test
+  void evolution_par_fin_de_mois_detecte_les_flux_de_chaque_jour() {
+    var patrimoine = new PatrimoineCresusSupplier().get();
+    var debut = LocalDate.of(2024, MAY, 12);
+    var fin = LocalDate.of(2025, JUNE, 30);
+
+    var journaliere = new EvolutionPatrimoine("Cresus", patrimoine, debut, fin);
+    var mensuelle = new EvolutionPatrimoine("Cresus", patrimoine, debut, fin, FIN_DE_MOIS);
+
+    assertEquals(FIN_DE_MOIS.dates(debut, fin), mensuelle.serieDates());
+    assertEquals(mensuelle.serieDates(), mensuelle.getSerieComptableTemporelle().serieDates());
+    assertEquals(mensuelle.serieDates(), List.copyOf(mensuelle.getEvolutionJournaliere().keySet()));
+    assertArrayEquals(
+        journaliere.getSerieComptableTemporelle().selon(FIN_DE_MOIS).valeursPatrimoine(),
+        mensuelle.getSerieComptableTemporelle().valeursPatrimoine());
+    assertEquals(
+        journaliere.getSerieComptableTemporelle().selon(FIN_DE_MOIS).serieDates(),
+        mensuelle.serieDates());
+    assertEquals(journaliere.getFluxJournaliers(), mensuelle.getFluxJournaliers());
+    assertFalse(mensuelle.getFluxJournaliersImpossibles().isEmpty());
+    assertEquals(
+        journaliere.getFluxJournaliersImpossibles(), mensuelle.getFluxJournaliersImpossibles());
+  }
 }
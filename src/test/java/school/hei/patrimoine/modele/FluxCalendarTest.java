@@ -0,0 +1,118 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.APRIL;
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static java.time.Month.MAY;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.example.PatrimoineRicheSupplier;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.FluxCalendar;
+import school.hei.patrimoine.modele.evolution.FluxJournalier;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class FluxCalendarTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  @Test
+  void flux_de_fin_de_mois_tombent_le_dernier_jour_du_mois() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var le31 = new FluxArgent("Le 31", compte, t, t.plusYears(1), 31, ariary(100));
+    var le30 = new FluxArgent("Le 30", compte, t, t.plusYears(1), 30, ariary(200));
+    var le15 = new FluxArgent("Le 15", compte, t, t.plusYears(1), 15, ariary(300));
+    var calendar = calendar(compte);
+
+    assertEquals(Set.of(le31, le30), calendar.flux(compte, LocalDate.of(2025, FEBRUARY, 28)));
+    assertEquals(Set.of(le30), calendar.flux(compte, LocalDate.of(2025, MARCH, 30)));
+    assertEquals(Set.of(le31), calendar.flux(compte, LocalDate.of(2025, MARCH, 31)));
+    assertEquals(Set.of(le15), calendar.flux(compte, LocalDate.of(2025, MARCH, 15)));
+    assertEquals(Set.of(), calendar.flux(compte, LocalDate.of(2025, MARCH, 16)));
+  }
+
+  @Test
+  void flux_hors_de_leur_periode_sont_ignores() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var loyer = new FluxArgent("Loyer", compte, t.plusMonths(1), t.plusMonths(3), 10, ariary(-100));
+    var calendar = calendar(compte);
+
+    assertEquals(Set.of(), calendar.flux(compte, LocalDate.of(2025, JANUARY, 10)));
+    assertEquals(Set.of(loyer), calendar.flux(compte, LocalDate.of(2025, FEBRUARY, 10)));
+    assertEquals(Set.of(), calendar.flux(compte, LocalDate.of(2025, MAY, 10)));
+    assertEquals(
+        List.of(LocalDate.of(2025, FEBRUARY, 10), LocalDate.of(2025, MARCH, 10)),
+        List.copyOf(calendar.dates(t, LocalDate.of(2025, MARCH, 31))));
+    assertTrue(calendar.flux(LocalDate.of(2025, JANUARY, 10)).isEmpty());
+    assertEquals(Set.of(loyer), calendar.flux(LocalDate.of(2025, MARCH, 10)).get(compte));
+  }
+
+  @Test
+  void flux_journaliers_par_periode_sont_ordonnes_par_date() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var debut = patrimoine.getT();
+    var evolution = new EvolutionPatrimoine("Riche", patrimoine, debut, debut.plusMonths(6));
+
+    var fluxJournaliers =
+        evolution.getFluxCalendar().fluxJournaliers(debut.plusMonths(1), debut.plusMonths(3));
+
+    assertEquals(
+        evolution.getFluxJournaliers().stream()
+            .filter(
+                fj ->
+                    !fj.date().isBefore(debut.plusMonths(1))
+                        && !fj.date().isAfter(debut.plusMonths(3)))
+            .collect(toSet()),
+        Set.copyOf(fluxJournaliers));
+    for (int i = 1; i < fluxJournaliers.size(); i++) {
+      assertTrue(!fluxJournaliers.get(i).date().isBefore(fluxJournaliers.get(i - 1).date()));
+    }
+    assertEquals(
+        List.<FluxJournalier>of(),
+        evolution.getFluxCalendar().fluxJournaliers(debut.plusDays(1), debut));
+  }
+
+  @Test
+  void dates_sont_les_jours_ayant_des_flux() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var debut = patrimoine.getT().minusMonths(2);
+    var fin = debut.plusYears(2);
+    var calendar = new FluxCalendar(patrimoine);
+
+    assertEquals(
+        debut.datesUntil(fin.plusDays(1)).filter(d -> !calendar.flux(d).isEmpty()).toList(),
+        List.copyOf(calendar.dates(debut, fin)));
+  }
+
+  @Test
+  void flux_journaliers_ignorent_les_comptes_pas_encore_ouverts() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t.plusMonths(2), t.plusMonths(2), ariary(0));
+    var salaire = new FluxArgent("Salaire", compte, t, t.plusYears(1), 5, ariary(100));
+    var calendar = calendar(compte);
+
+    var fluxJournaliers = calendar.fluxJournaliers(t, t.plusMonths(4));
+
+    assertEquals(
+        List.of(LocalDate.of(2025, MARCH, 5), LocalDate.of(2025, APRIL, 5)),
+        fluxJournaliers.stream().map(FluxJournalier::date).toList());
+    assertEquals(Set.of(salaire), fluxJournaliers.getFirst().flux());
+  }
+
+  private static FluxCalendar calendar(Compte compte) {
+    return new FluxCalendar(
+        Patrimoine.of(
+            "Patrimoine", MGA, AU_1ER_JANVIER_2025, new Personne("Rabe"), Set.of(compte)));
+  }
+}
@@ -0,0 +1,158 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.CalendrierTest.datesDOperationParYearMonth;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.ProjectionParalleleTest.grandPatrimoine;
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.simulation.Distribution.normale;
+import static school.hei.patrimoine.modele.simulation.Distribution.uniforme;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import school.hei.patrimoine.cas.example.PatrimoineCresusSupplier;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.simulation.MoteurDeScenarios;
+
+// Smoke timings, not JMH: single System.nanoTime runs without forks or statistics, only orders
+// of magnitude are meaningful. Excluded from the default build: mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+class MesuresDePerformancesTest {
+  @Test
+  void jours_d_operation_contre_dates_par_year_month() {
+    var compte = new Compte("compte", LocalDate.of(2024, JANUARY, 1), ariary(0));
+    var debut = LocalDate.of(2024, JANUARY, 1);
+    var fin = LocalDate.of(2124, JANUARY, 1);
+    var flux = new FluxArgent("flux", compte, debut, fin, 31, ariary(1));
+    var repetitions = 200;
+
+    long total = 0;
+    var debutParYearMonth = System.nanoTime();
+    for (int i = 0; i < repetitions; i++) {
+      total += datesDOperationParYearMonth(debut, fin, 31).size();
+    }
+    var dureeParYearMonth = System.nanoTime() - debutParYearMonth;
+
+    var debutParJours = System.nanoTime();
+    for (int i = 0; i < repetitions; i++) {
+      total -= flux.joursDOperation(debut.toEpochDay(), fin.toEpochDay()).length;
+    }
+    var dureeParJours = System.nanoTime() - debutParJours;
+
+    assertEquals(0, total);
+    log.info(
+        "[indicatif] Dates d'opération sur 100 ans: YearMonth={}µs, jours={}µs",
+        dureeParYearMonth / repetitions / 1_000,
+        dureeParJours / repetitions / 1_000);
+  }
+
+  @Test
+  @ResourceLock("ProjectionParallele")
+  void projection_parallele_plus_rapide_que_projection_sequentielle() {
+    assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+    var patrimoine = grandPatrimoine(400);
+    var debut = LocalDate.of(2025, JANUARY, 1);
+    var dates = debut.datesUntil(debut.plusYears(1), Period.ofWeeks(1)).toList();
+    dates.forEach(patrimoine::projectionFuture); // chauffe
+
+    var debutSequentiel = System.nanoTime();
+    dates.forEach(patrimoine::projectionFuture);
+    var dureeSequentielle = System.nanoTime() - debutSequentiel;
+
+    long dureeParallele;
+    int parallelisme;
+    try {
+      ProjectionParallele.activer(Runtime.getRuntime().availableProcessors(), 1);
+      parallelisme = ProjectionParallele.parallelisme();
+      dates.forEach(patrimoine::projectionFuture); // chauffe
+      var debutParallele = System.nanoTime();
+      dates.forEach(patrimoine::projectionFuture);
+      dureeParallele = System.nanoTime() - debutParallele;
+    } finally {
+      ProjectionParallele.desactiver();
+    }
+
+    log.info(
+        "[indicatif] Projection de {} possessions sur {} dates: séquentielle={}ms, parallèle={}ms"
+            + " ({} cœurs)",
+        patrimoine.getPossessions().size(),
+        dates.size(),
+        dureeSequentielle / 1_000_000,
+        dureeParallele / 1_000_000,
+        parallelisme);
+    assertTrue(
+        dureeParallele < dureeSequentielle,
+        "parallèle=" + dureeParallele + "ns, séquentielle=" + dureeSequentielle + "ns");
+  }
+
+  @Test
+  void octets_alloues_par_jour_simule() {
+    var patrimoine = new PatrimoineCresusSupplier().get();
+    var debut = LocalDate.of(2024, MAY, 13);
+    var fin = debut.plusYears(1);
+    var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    new EvolutionPatrimoine("Cresus", patrimoine, debut, debut.plusMonths(1)); // chauffe
+
+    var avant = threadMXBean.getCurrentThreadAllocatedBytes();
+    var debutEvolution = System.nanoTime();
+    var evolution = new EvolutionPatrimoine("Cresus", patrimoine, debut, fin);
+    var duree = System.nanoTime() - debutEvolution;
+    var octets = threadMXBean.getCurrentThreadAllocatedBytes() - avant;
+
+    var jours = evolution.serieDates().size();
+    log.info(
+        "[indicatif] Évolution de Cresus: {} octets alloués et {}µs par jour simulé",
+        octets / jours,
+        duree / jours / 1_000);
+  }
+
+  @Test
+  void scenarios_par_seconde() {
+    var debut = LocalDate.of(2024, JANUARY, 1);
+    var fin = LocalDate.of(2025, JUNE, 30);
+    var courant = new Compte("Courant", debut, ariary(200_000));
+    var epargne = new Compte("Epargne", debut, euro(100));
+    var salaire = new FluxArgent("Salaire", courant, debut, fin, 1, ariary(500_000));
+    var placement =
+        new FluxArgent("Placement", epargne, debut.plusMonths(2), fin, 10, ariary(40_000));
+    new FluxArgent("Loyer", courant, debut, fin, 5, ariary(-550_000));
+    var ordinateur = new Materiel("Ordinateur", debut, debut, ariary(3_000_000), -0.2);
+    var patrimoine =
+        Patrimoine.of(
+            "Scénarios", MGA, debut, new Personne("Ilo"), Set.of(courant, epargne, ordinateur));
+    var moteur =
+        new MoteurDeScenarios(patrimoine, debut, fin, FIN_DE_MOIS)
+            .tauxDAppreciation(ordinateur, normale(-0.2, 0.1))
+            .tauxDAppreciation(EUR, uniforme(-0.1, 0.1))
+            .facteurDuMontant(salaire, uniforme(0.9, 1.3))
+            .joursDeDecalageDuDebut(placement, uniforme(-60, 60));
+
+    var executeur = Executors.newFixedThreadPool(4);
+    try {
+      var resultat = moteur.executer(1_000, 2024, executeur, r -> {});
+      assertTrue(resultat.nbScenarios() > 0);
+      log.info("[indicatif] {} scénarios/s", (long) resultat.scenariosParSeconde());
+    } finally {
+      executeur.shutdown();
+    }
+  }
+}
@@ -8,10 +8,15 @@ import static school.hei.patrimoine.modele.Argent.ariary;
 import static school.hei.patrimoine.modele.Devise.MGA;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import school.hei.patrimoine.modele.objectif.Objectif;
+import school.hei.patrimoine.modele.objectif.ObjectifNonAtteint;
+import school.hei.patrimoine.modele.objectif.Objectivable;
+import school.hei.patrimoine.modele.objectif.VerificateurDesObjectifs;
 import school.hei.patrimoine.modele.possession.Compte;
 import school.hei.patrimoine.modele.possession.Correction;
 import school.hei.patrimoine.modele.possession.FluxArgent;
@@ -87,6 +92,41 @@ class PatrimoineTest {
             .isEmpty());
   }
 
+  @Test
+  void objectifs_verifies_par_date_egalent_objectifs_verifies_un_a_un() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Compte("Espèces", au13mai24, ariary(600_000));
+    var trainDeVie =
+        new FluxArgent(
+            "Vie courante", financeur, au13mai24, au13mai24.plusDays(100), 15, ariary(-100_000));
+    var horsPatrimoine = new Compte("Hors patrimoine", au13mai24, ariary(10));
+    var patrimoine = Patrimoine.of("Ilo", MGA, au13mai24, ilo, Set.of(financeur, trainDeVie));
+    new Objectif(patrimoine, au13mai24.plusDays(10), ariary(500_000));
+    new Objectif(patrimoine, au13mai24.plusDays(100), ariary(200_001));
+    new Objectif(financeur, au13mai24.plusDays(10), ariary(500_000));
+    new Objectif(financeur, au13mai24.plusDays(40), ariary(0));
+    new Objectif(horsPatrimoine, au13mai24.plusDays(40), ariary(10));
+
+    var objectivables = List.<Objectivable>of(patrimoine, financeur, horsPatrimoine, financeur);
+    var verification = new VerificateurDesObjectifs(patrimoine, objectivables).verifier();
+
+    var attendus = new HashSet<ObjectifNonAtteint>();
+    objectivables.forEach(o -> attendus.addAll(o.verifier()));
+    assertEquals(2, attendus.size());
+    assertEquals(attendus, verification.nonAtteints());
+    assertEquals(5, verification.objectifsVerifies().size());
+    verification
+        .objectifsVerifies()
+        .forEach(
+            v -> {
+              assertEquals(
+                  v.objectif().objectivable().valeurAObjectifT(v.objectif().t()),
+                  v.valeurAtteinte());
+              assertFalse(v.duree().isNegative());
+            });
+  }
+
   @Test
   void patrimoine_possede_un_train_de_vie_financé_par_argent_puis_corrigé() {
     var ilo = new Personne("Ilo");
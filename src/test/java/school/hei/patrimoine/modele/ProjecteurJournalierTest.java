@@ -0,0 +1,79 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.example.PatrimoineRicheSupplier;
+import school.hei.patrimoine.modele.evolution.ProjecteurJournalier;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class ProjecteurJournalierTest {
+  @Test
+  void projecteur_journalier_refuse_de_remonter_le_temps() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var projecteurJournalier = new ProjecteurJournalier(patrimoine, LocalDate.of(2025, MAY, 1));
+
+    projecteurJournalier.projectionFuture(LocalDate.of(2024, MAY, 13));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> projecteurJournalier.projectionFuture(LocalDate.of(2024, MAY, 12)));
+  }
+
+  @Test
+  void projection_porte_les_flux_d_origine() {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var salaire = new FluxArgent("Salaire", compte, t, LocalDate.MAX, 5, ariary(100));
+    var loyer = new FluxArgent("Loyer", compte, t, t.plusMonths(6), 10, ariary(-50));
+    var patrimoine = Patrimoine.of("Compte", MGA, t, new Personne("Ilo"), Set.of(compte));
+    var projecteurJournalier = new ProjecteurJournalier(patrimoine, t.plusYears(1));
+
+    for (var tFutur : List.of(t, LocalDate.of(2024, MARCH, 1), t.plusMonths(8))) {
+      var projection = (Compte) projecteurJournalier.projections(tFutur).get(compte);
+
+      assertEquals(Set.of(salaire, loyer), projection.getFluxArgents());
+      assertTrue(projection.getFluxArgents().stream().allMatch(f -> f.getCompte() == compte));
+      assertEquals(
+          compte.projectionFuture(tFutur).valeurComptable(),
+          projection.valeurComptable(),
+          "à " + tFutur);
+    }
+  }
+
+  @Test
+  void projection_depuis_les_points_de_controle_egale_le_rejeu_depuis_t() {
+    var t = LocalDate.of(2020, JANUARY, 1);
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, LocalDate.MAX, 5, euro(100));
+    new FluxArgent("Loyer", compte, t.plusMonths(3), t.plusYears(20), 31, ariary(-50_000));
+    var patrimoine = Patrimoine.of("Compte", MGA, t, new Personne("Ilo"), Set.of(compte));
+    var debut = LocalDate.of(2030, MARCH, 5);
+    var dates = debut.datesUntil(debut.plusMonths(4)).toList();
+
+    var sansPointsDeControle = new ProjecteurJournalier(patrimoine, debut, dates.getLast());
+    var attendues =
+        dates.stream().map(d -> sansPointsDeControle.projections(d).get(compte)).toList();
+    try (var contexte = ContexteDeProjection.ouvrir(PointsDeControle.TRIMESTRIELS)) {
+      var avecPointsDeControle = new ProjecteurJournalier(patrimoine, debut, dates.getLast());
+      for (int i = 0; i < dates.size(); i++) {
+        assertEquals(
+            attendues.get(i).valeurComptable(),
+            avecPointsDeControle.projections(dates.get(i)).get(compte).valeurComptable(),
+            dates.get(i).toString());
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.possession.RemboursementDette;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+// Parallel projection is global: tests toggling it never run concurrently
+@ResourceLock("ProjectionParallele")
+class ProjectionParalleleTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  @AfterEach
+  void desactiver() {
+    ProjectionParallele.desactiver();
+  }
+
+  @Test
+  void parallelisme_et_seuil_doivent_etre_positifs() {
+    assertThrows(IllegalArgumentException.class, () -> ProjectionParallele.activer(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> ProjectionParallele.activer(2, 0));
+    assertEquals(1, ProjectionParallele.parallelisme());
+  }
+
+  @Test
+  void composantes_regroupent_les_possessions_d_un_meme_compte() {
+    var t = AU_1ER_JANVIER_2025;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var salaire = new FluxArgent("Salaire", compte, t, t.plusYears(1), 1, ariary(100));
+    var epargne = new Compte("Épargne", t, ariary(0));
+    var groupe = new GroupePossession("Groupe", MGA, t, Set.of(epargne, salaire));
+    var voiture = new Materiel("Voiture", t, t, ariary(5_000), -0.1);
+
+    var composantes =
+        ProjectionParallele.composantes(List.of(compte, salaire, epargne, groupe, voiture));
+
+    assertEquals(2, composantes.size());
+    assertEquals(
+        Set.of(Set.of(compte, salaire, epargne, groupe), Set.of(voiture)),
+        Set.of(new HashSet<>(composantes.get(0)), new HashSet<>(composantes.get(1))));
+  }
+
+  @Test
+  void composantes_suivent_les_comptes_des_transferts_remboursements_et_achats() {
+    var t = AU_1ER_JANVIER_2025;
+    var courant = new Compte("Courant", t, ariary(1_000));
+    var epargne = new Compte("Épargne", t, ariary(0));
+    var espece = new Compte("Espèce", t, ariary(0));
+    var dette = new Dette("Dette", t, ariary(-500));
+    var creance = new Creance("Créance", t, ariary(500));
+    var transfert = new TransfertArgent("Transfert", courant, epargne, t, ariary(100));
+    var remboursement =
+        new RemboursementDette("Remboursement", espece, epargne, dette, creance, t, ariary(500));
+    var achat = new AchatMaterielAuComptant("Vélo", t, ariary(200), -0.1, courant);
+    var isole = new Compte("Isolé", t, ariary(0));
+
+    var composantes =
+        ProjectionParallele.composantes(
+            List.of(
+                courant, epargne, espece, dette, creance, transfert, remboursement, achat, isole));
+
+    assertEquals(2, composantes.size());
+    assertEquals(
+        Set.of(
+            Set.of(courant, epargne, espece, dette, creance, transfert, remboursement, achat),
+            Set.of(isole)),
+        Set.of(new HashSet<>(composantes.get(0)), new HashSet<>(composantes.get(1))));
+  }
+
+  @Test
+  void projection_parallele_egale_projection_sequentielle() {
+    var patrimoine = grandPatrimoine(400);
+    var dates =
+        AU_1ER_JANVIER_2025
+            .datesUntil(AU_1ER_JANVIER_2025.plusYears(1), Period.ofWeeks(1))
+            .toList();
+
+    var sequentielles = dates.stream().map(patrimoine::projectionFuture).toList();
+
+    ProjectionParallele.activer(Runtime.getRuntime().availableProcessors(), 1);
+    var paralleles = dates.stream().map(patrimoine::projectionFuture).toList();
+
+    for (int i = 0; i < dates.size(); i++) {
+      assertEquals(sequentielles.get(i).getPossessions(), paralleles.get(i).getPossessions());
+      assertEquals(
+          sequentielles.get(i).getValeurComptable(), paralleles.get(i).getValeurComptable());
+    }
+  }
+
+  @Test
+  void projection_parallele_convertit_avec_la_table_de_l_appelant() {
+    var patrimoine = grandPatrimoine(100);
+    var t = AU_1ER_JANVIER_2025.plusMonths(6);
+    var table = TauxDeChangeTable.de(List.of(MGA, EUR), AU_1ER_JANVIER_2025, t);
+    var sequentielle = table.executer(() -> patrimoine.projectionFuture(t).getValeurComptable());
+
+    ProjectionParallele.activer(2, 1);
+    var portee = table.executer(ProjectionParallele.Portee::courante);
+
+    assertSame(
+        table,
+        CompletableFuture.supplyAsync(() -> portee.executer(TauxDeChangeTable::courante)).join());
+    assertEquals(
+        sequentielle, table.executer(() -> patrimoine.projectionFuture(t).getValeurComptable()));
+  }
+
+  static Patrimoine grandPatrimoine(int nbComptes) {
+    var t = AU_1ER_JANVIER_2025;
+    var possessions = new HashSet<Possession>();
+    Compte precedent = null;
+    for (int i = 0; i < nbComptes; i++) {
+      var compte = new Compte("Compte " + i, t, ariary(1_000_000 + i));
+      possessions.add(compte);
+      possessions.add(
+          new FluxArgent(
+              "Salaire " + i, compte, t.minusYears(1), LocalDate.MAX, 1 + i % 28, euro(100)));
+      possessions.add(
+          new FluxArgent(
+              "Loyer " + i, compte, t, t.plusYears(2), 1 + (i * 7) % 31, ariary(-50_000 - i)));
+      if (precedent != null && i % 3 == 0) {
+        possessions.add(
+            new TransfertArgent(
+                "Transfert " + i, precedent, compte, t, t.plusYears(1), 15, ariary(1_000)));
+      }
+      if (i % 10 == 0) {
+        possessions.add(new Materiel("Materiel " + i, t, t, ariary(10_000_000), -0.1));
+      }
+      precedent = compte;
+    }
+    return Patrimoine.of("Grand patrimoine", MGA, t, new Personne("Grand"), possessions);
+  }
+}
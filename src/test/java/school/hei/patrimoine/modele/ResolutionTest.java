@@ -0,0 +1,35 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.evolution.Resolution.HEBDOMADAIRE;
+import static school.hei.patrimoine.modele.evolution.Resolution.JOURNALIERE;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.evolution.Resolution;
+
+class ResolutionTest {
+  @Test
+  void resolution_echantillonne_les_dates() {
+    var debut = LocalDate.of(2024, JANUARY, 10);
+    var fin = LocalDate.of(2024, MARCH, 20);
+
+    assertEquals(71, JOURNALIERE.dates(debut, fin).size());
+    assertEquals(
+        List.of(debut, debut.plusWeeks(4), debut.plusWeeks(8), fin),
+        Resolution.pas(Period.ofWeeks(4)).dates(debut, fin));
+    assertEquals(
+        List.of(debut, LocalDate.of(2024, JANUARY, 31), LocalDate.of(2024, FEBRUARY, 29), fin),
+        FIN_DE_MOIS.dates(debut, fin));
+    assertEquals(List.of(), HEBDOMADAIRE.dates(fin, debut));
+    assertThrows(IllegalArgumentException.class, () -> Resolution.pas(Period.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new Resolution(Period.ofDays(3), true));
+  }
+}
@@ -0,0 +1,58 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.possession.TypeAgregat.CORRECTION;
+import static school.hei.patrimoine.modele.possession.TypeAgregat.TRESORERIE;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class SerieComptableTemporelleTest {
+  @Test
+  void serie_comptable_temporelle_par_possession_et_par_agregat() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Compte("Espèces", au13mai24, ariary(600_000));
+    var trainDeVie =
+        new FluxArgent(
+            "Vie courante",
+            financeur,
+            au13mai24.minusDays(100),
+            au13mai24.plusDays(100),
+            15,
+            ariary(-100_000));
+    var patrimoineIloAu13mai24 =
+        Patrimoine.of("patrimoineIloAu13mai24", MGA, au13mai24, ilo, Set.of(financeur, trainDeVie));
+
+    var serie =
+        new EvolutionPatrimoine(
+                "Nom",
+                patrimoineIloAu13mai24,
+                LocalDate.of(2024, MAY, 12),
+                LocalDate.of(2024, MAY, 17))
+            .getSerieComptableTemporelle();
+
+    var attendu = List.of(0, 600_000, 600_000, 500_000, 500_000, 500_000);
+    assertEquals(attendu, serie.serieValeursComptablesParPossession().get(financeur));
+    assertFalse(serie.serieValeursComptablesParPossession().containsKey(trainDeVie));
+    assertEquals(attendu, serie.serieValeursComptablesPatrimoine());
+    assertEquals(
+        attendu, serie.serieParPossessionsFiltrées(p -> TRESORERIE.equals(p.typeAgregat())));
+    assertEquals(
+        List.of(0, 0, 0, 0, 0, 0),
+        serie.serieParPossessionsFiltrées(p -> CORRECTION.equals(p.typeAgregat())));
+    assertEquals(List.of(), serie.serieParPossessionsFiltrées(p -> false));
+    assertArrayEquals(
+        new long[] {0, 600_000, 600_000, 500_000, 500_000, 500_000}, serie.valeursPatrimoine());
+  }
+}
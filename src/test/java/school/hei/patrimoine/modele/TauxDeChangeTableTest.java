@@ -0,0 +1,76 @@
+package school.hei.patrimoine.modele;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TauxDeChangeTableTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  @Test
+  void table_egale_les_taux_de_chaque_jour() {
+    var debut = AU_1ER_JANVIER_2025;
+    var fin = debut.plusYears(2);
+    var table = TauxDeChangeTable.de(List.of(MGA, EUR, CAD), debut, fin);
+
+    debut
+        .datesUntil(fin.plusDays(1))
+        .forEach(
+            t -> {
+              assertEquals(EUR.valeurEnAriary(t), table.valeurEnAriary(EUR, t));
+              assertEquals(
+                  EUR.valeurEnAriary(t) / CAD.valeurEnAriary(t),
+                  table.tauxDuJour(EUR, CAD, t.toEpochDay()));
+              assertEquals(1., table.tauxDuJour(CAD, CAD, t.toEpochDay()));
+            });
+    var avant = debut.minusDays(1);
+    assertEquals(EUR.valeurEnAriary(avant), table.valeurEnAriary(EUR, avant));
+    assertEquals(
+        EUR.valeurEnAriary(avant) / MGA.valeurEnAriary(avant),
+        table.tauxDuJour(EUR, MGA, avant.toEpochDay()));
+    assertArrayEquals(
+        new double[] {EUR.valeurEnAriary(avant), EUR.valeurEnAriary(debut)},
+        table.valeursEnAriary(EUR, avant, debut));
+    assertEquals(
+        new Argent(EUR.valeurEnAriary(fin), MGA),
+        table.executer(() -> euro(1).convertir(MGA, fin)));
+  }
+
+  @Test
+  void chaque_simulation_convertit_avec_sa_propre_table() {
+    var debut = AU_1ER_JANVIER_2025;
+    var ici = TauxDeChangeTable.de(List.of(MGA, EUR), debut, debut.plusMonths(1));
+    var appreciee = new Devise("EURO", "€", debut, EUR.valeurEnAriary(debut), 0.5);
+    var ailleurs = TauxDeChangeTable.de(List.of(MGA, appreciee), debut, LocalDate.MAX);
+    var t = debut.plusYears(10);
+
+    ici.executer(
+        () -> {
+          assertEquals(
+              appreciee.valeurEnAriary(t),
+              ailleurs.executer(
+                  () -> {
+                    assertSame(ailleurs, TauxDeChangeTable.courante());
+                    return TauxDeChangeTable.taux(appreciee, MGA, t);
+                  }));
+          assertSame(ici, TauxDeChangeTable.courante());
+          return null;
+        });
+    assertNull(TauxDeChangeTable.courante());
+    assertEquals(EUR.valeurEnAriary(t), TauxDeChangeTable.taux(EUR, MGA, t));
+    var auDelaDeLaFenetre = debut.plusYears(60);
+    assertEquals(
+        appreciee.valeurEnAriary(auDelaDeLaFenetre),
+        ailleurs.valeurEnAriary(appreciee, auDelaDeLaFenetre));
+  }
+}
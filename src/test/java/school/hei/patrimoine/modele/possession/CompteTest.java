@@ -0,0 +1,140 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.PointsDeControle;
+
+class CompteTest {
+  private static final List<Devise> DEVISES = List.of(MGA, EUR, CAD);
+
+  @Test
+  void projection_egale_somme_des_financements() {
+    var random = new Random(20241019);
+    var origine = LocalDate.of(2024, JANUARY, 1);
+
+    for (int i = 0; i < 100; i++) {
+      var t = origine.plusDays(random.nextInt(365));
+      var compte =
+          new Compte(
+              "Compte",
+              t.minusDays(random.nextInt(30)),
+              t,
+              new Argent(random.nextInt(1_000_000), DEVISES.get(random.nextInt(DEVISES.size()))));
+      var nbFlux = random.nextInt(6);
+      for (int j = 0; j < nbFlux; j++) {
+        var debut = origine.plusDays(random.nextInt(2 * 365) - 365);
+        var fin = random.nextBoolean() ? LocalDate.MAX : debut.plusDays(random.nextInt(3 * 365));
+        new FluxArgent(
+            "Flux " + j,
+            compte,
+            debut,
+            fin,
+            random.nextInt(32),
+            new Argent(
+                random.nextInt(200_000) - 100_000, DEVISES.get(random.nextInt(DEVISES.size()))));
+      }
+
+      // Random order to query the ledger before, inside and beyond what it already covers
+      for (int j = 0; j < 10; j++) {
+        var tFutur = t.plusDays(random.nextInt(5 * 365) - 60);
+        assertEquals(
+            projectionParFinancements(compte, tFutur),
+            compte.projectionFuture(tFutur).valeurComptable(),
+            compte + " à " + tFutur);
+      }
+    }
+  }
+
+  @Test
+  void nouveau_flux_invalide_les_projections() {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, LocalDate.MAX, 5, ariary(100));
+    var auPremierMars = LocalDate.of(2024, MARCH, 1);
+    assertEquals(ariary(1_200), compte.projectionFuture(auPremierMars).valeurComptable());
+
+    new FluxArgent("Loyer", compte, t, LocalDate.MAX, 10, ariary(-50));
+
+    assertEquals(ariary(1_100), compte.projectionFuture(auPremierMars).valeurComptable());
+    assertEquals(2, compte.projectionFuture(auPremierMars).getFluxArgents().size());
+  }
+
+  @Test
+  void projection_porte_les_flux_d_origine_et_se_compose() {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var compte = new Compte("Compte", t, ariary(1_000));
+    var salaire = new FluxArgent("Salaire", compte, t, LocalDate.MAX, 5, ariary(100));
+    var loyer = new FluxArgent("Loyer", compte, t, t.plusMonths(6), 10, ariary(-50));
+    var auPremierMars = LocalDate.of(2024, MARCH, 1);
+
+    var projection = compte.projectionFuture(auPremierMars);
+
+    assertEquals(Set.of(salaire, loyer), projection.getFluxArgents());
+    assertTrue(projection.getFluxArgents().stream().allMatch(f -> f.getCompte() == compte));
+    for (var tFutur : List.of(auPremierMars, t.plusMonths(5), t.plusYears(2))) {
+      assertEquals(
+          compte.projectionFuture(tFutur).valeurComptable(),
+          projection.projectionFuture(tFutur).valeurComptable(),
+          "à " + tFutur);
+    }
+  }
+
+  @Test
+  void projection_depuis_un_jour_d_operation_ne_compte_pas_l_operation_deux_fois() {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, LocalDate.MAX, 5, ariary(100));
+    new FluxArgent("Loyer", compte, t, t.plusMonths(6), 10, ariary(-50));
+    var jourDeSalaire = LocalDate.of(2024, MARCH, 5);
+    var jourDeLoyer = LocalDate.of(2024, MARCH, 10);
+
+    for (var intermediaire : List.of(jourDeSalaire, jourDeLoyer)) {
+      var projection = compte.projectionFuture(intermediaire);
+      for (var tFutur : List.of(intermediaire, jourDeLoyer, t.plusYears(1))) {
+        assertEquals(
+            compte.projectionFuture(tFutur).valeurComptable(),
+            projection.projectionFuture(tFutur).valeurComptable(),
+            intermediaire + " puis " + tFutur);
+      }
+      try (var contexte = ContexteDeProjection.ouvrir(new PointsDeControle(1))) {
+        assertEquals(
+            compte.projectionFuture(t.plusYears(1)).valeurComptable(),
+            projection.projectionFuture(t.plusYears(1)).valeurComptable(),
+            intermediaire + " avec points de contrôle");
+      }
+    }
+    assertEquals(ariary(1_150), compte.projectionFuture(jourDeLoyer).valeurComptable());
+  }
+
+  private static Argent projectionParFinancements(Compte compte, LocalDate tFutur) {
+    if (tFutur.isBefore(compte.getDateOuverture())) {
+      return new Argent(0, compte.valeurComptable().devise());
+    }
+
+    var valeur = compte.valeurComptable();
+    for (var f : compte.getFluxArgents()) {
+      var financement =
+          f.projectionFuture(tFutur)
+              .getCompte()
+              .valeurComptable()
+              .minus(compte.valeurComptable(), tFutur);
+      valeur = valeur.add(financement, tFutur);
+    }
+    return valeur;
+  }
+}
@@ -0,0 +1,95 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.Devise;
+
+class FluxArgentTest {
+  private static final List<Devise> DEVISES = List.of(MGA, EUR, CAD);
+
+  @Test
+  void dates_d_operation_sont_bornees_au_dernier_jour_du_mois() {
+    var compte = new Compte("Compte", LocalDate.of(2024, JANUARY, 1), ariary(0));
+    var flux =
+        new FluxArgent(
+            "Loyer",
+            compte,
+            LocalDate.of(2024, JANUARY, 1),
+            LocalDate.of(2024, MARCH, 31),
+            31,
+            ariary(-100));
+
+    assertEquals(
+        List.of(
+            LocalDate.of(2024, JANUARY, 31),
+            LocalDate.of(2024, FEBRUARY, 29),
+            LocalDate.of(2024, MARCH, 31)),
+        flux.datesDOperation(LocalDate.MIN, LocalDate.MAX));
+    assertEquals(
+        List.of(LocalDate.of(2024, FEBRUARY, 29)),
+        flux.datesDOperation(LocalDate.of(2024, FEBRUARY, 1), LocalDate.of(2024, MARCH, 30)));
+  }
+
+  @Test
+  void projection_par_mois_egale_projection_jour_par_jour() {
+    var random = new Random(20241018);
+    var origine = LocalDate.of(2024, JANUARY, 1);
+
+    for (int i = 0; i < 500; i++) {
+      var deviseCompte = DEVISES.get(random.nextInt(DEVISES.size()));
+      var deviseFlux = DEVISES.get(random.nextInt(DEVISES.size()));
+      var t = origine.plusDays(random.nextInt(3 * 365) - 365);
+      var debut = origine.plusDays(random.nextInt(4 * 365) - 2 * 365);
+      var fin = debut.plusDays(random.nextInt(5 * 365));
+      var dateOperation = random.nextInt(33);
+      var compte = new Compte("Compte", t, new Argent(random.nextInt(1_000_000), deviseCompte));
+      var flux =
+          new FluxArgent(
+              "Flux",
+              compte,
+              debut,
+              fin,
+              dateOperation,
+              new Argent(random.nextInt(200_000) - 100_000, deviseFlux));
+      var tFutur = t.plusDays(random.nextInt(10 * 365));
+
+      assertEquals(
+          projectionJourParJour(flux, tFutur),
+          flux.projectionFuture(tFutur).getCompte().valeurComptable(),
+          flux.toString());
+    }
+  }
+
+  private static Argent projectionJourParJour(FluxArgent flux, LocalDate tFutur) {
+    var compte = flux.getCompte();
+    var tFuturMajoréParFin = tFutur.isBefore(flux.getFin()) ? tFutur : flux.getFin();
+    var debutOperationMinoréParDebut =
+        compte.t().isBefore(flux.getDebut()) ? flux.getDebut() : compte.t();
+    var valeur = compte.valeurComptable();
+    if (debutOperationMinoréParDebut.isAfter(tFuturMajoréParFin)) {
+      return valeur;
+    }
+
+    var dates =
+        debutOperationMinoréParDebut
+            .datesUntil(tFuturMajoréParFin.plusDays(1))
+            .filter(d -> d.getDayOfMonth() == Math.min(flux.getDateOperation(), d.lengthOfMonth()))
+            .toList();
+    for (var d : dates) {
+      valeur = valeur.add(flux.getFluxMensuel(), d);
+    }
+    return valeur;
+  }
+}
@@ -0,0 +1,135 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.objectif.Objectif;
+
+class GrapheDeDependancesTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+
+  private record Modele(
+      Patrimoine patrimoine,
+      Compte courant,
+      Compte epargne,
+      FluxArgent salaire,
+      Materiel ordinateur,
+      GroupePossession equipement,
+      Correction correction) {}
+
+  private static Modele modele(int salaire) {
+    var t = AU_1ER_JANVIER_2025;
+    var courant = new Compte("Courant", t, ariary(100_000));
+    var epargne = new Compte("Epargne", t, ariary(0));
+    var fluxSalaire = new FluxArgent("Salaire", courant, t, t.plusYears(1), 1, ariary(salaire));
+    var transfert =
+        new TransfertArgent(
+            "Epargne mensuelle", courant, epargne, t, t.plusYears(1), 5, ariary(10_000));
+    var ordinateur = new Materiel("Ordinateur", t, t, ariary(2_000_000), -0.1);
+    var equipement =
+        new GroupePossession(
+            "Equipement", MGA, t, Set.of(ordinateur, new Compte("Caisse", t, ariary(0))));
+    var correction = new Correction(epargne, "Frais", t.plusDays(3), ariary(-500));
+    var patrimoine =
+        Patrimoine.of(
+            "Patrimoine",
+            MGA,
+            t,
+            new Personne("Ilo"),
+            Set.of(courant, epargne, fluxSalaire, transfert, equipement, correction));
+    return new Modele(
+        patrimoine, courant, epargne, fluxSalaire, ordinateur, equipement, correction);
+  }
+
+  @Test
+  void flux_impacte_son_compte() {
+    var modele = modele(50_000);
+    var graphe = new GrapheDeDependances(modele.patrimoine());
+
+    var impactees = graphe.impactees(List.of(modele.salaire()));
+
+    assertTrue(impactees.contains(modele.courant()));
+    assertFalse(impactees.contains(modele.epargne()));
+    assertFalse(impactees.contains(modele.equipement()));
+    assertEquals(Set.of(modele.courant()), graphe.comptesImpactes(List.of(modele.salaire())));
+  }
+
+  @Test
+  void membre_impacte_son_groupe_et_correction_son_compte_correction() {
+    var modele = modele(50_000);
+    var graphe = new GrapheDeDependances(modele.patrimoine());
+
+    assertTrue(graphe.impactees(List.of(modele.ordinateur())).contains(modele.equipement()));
+    var impacteesParCorrection = graphe.impactees(List.of(modele.correction()));
+    assertTrue(impacteesParCorrection.contains(modele.epargne().getCompteCorrection()));
+    assertFalse(impacteesParCorrection.contains(modele.courant()));
+  }
+
+  @Test
+  void objectifs_impactes_sont_ceux_des_possessions_impactees_et_du_patrimoine() {
+    var modele = modele(50_000);
+    var t = AU_1ER_JANVIER_2025.plusMonths(6);
+    var objectifCourant = new Objectif(modele.courant(), t, ariary(1));
+    var objectifEpargne = new Objectif(modele.epargne(), t, ariary(1));
+    var objectifPatrimoine = new Objectif(modele.patrimoine(), t, ariary(1));
+    var graphe = new GrapheDeDependances(modele.patrimoine());
+
+    var objectifs = graphe.objectifsImpactes(List.of(modele.salaire()));
+
+    assertEquals(Set.of(objectifCourant, objectifPatrimoine), objectifs);
+    assertFalse(objectifs.contains(objectifEpargne));
+    assertTrue(graphe.objectifsImpactes(List.of()).isEmpty());
+  }
+
+  @Test
+  void impact_entre_deux_versions_se_limite_aux_possessions_modifiees() {
+    var avant = modele(50_000);
+    var apres = modele(60_000);
+
+    var impact = GrapheDeDependances.impact(avant.patrimoine(), apres.patrimoine());
+
+    assertTrue(impact.avant().contains(avant.courant()));
+    assertTrue(impact.apres().contains(apres.courant()));
+    assertTrue(impact.apres().contains(apres.salaire()));
+    assertFalse(impact.apres().contains(apres.epargne()));
+    assertFalse(impact.apres().contains(apres.equipement()));
+    assertFalse(impact.complet());
+    assertTrue(
+        GrapheDeDependances.impact(avant.patrimoine(), modele(50_000).patrimoine()).estVide());
+  }
+
+  @Test
+  void impact_entre_versions_avec_homonymes_est_complet() {
+    var t = AU_1ER_JANVIER_2025;
+    var avant = avecOrdis(t, 200_000);
+    var apres = avecOrdis(t, 300_000);
+
+    var impact = GrapheDeDependances.impact(avant, apres);
+
+    assertTrue(impact.complet());
+    assertFalse(impact.estVide());
+    assertTrue(impact.avant().containsAll(avant.getPossessions()));
+    assertTrue(impact.apres().containsAll(apres.getPossessions()));
+  }
+
+  private static Patrimoine avecOrdis(LocalDate t, int valeurPremierOrdi) {
+    return Patrimoine.of(
+        "Ordis",
+        MGA,
+        t,
+        new Personne("Zety"),
+        Set.of(
+            new Materiel("Ordi", t, t, ariary(valeurPremierOrdi), -0.1),
+            new Materiel("Ordi", t, t, ariary(100_000), -0.1)));
+  }
+}
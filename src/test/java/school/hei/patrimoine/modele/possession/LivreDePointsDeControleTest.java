@@ -0,0 +1,121 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.JANUARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Argent;
+import school.hei.patrimoine.modele.ContexteDeProjection;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.PointsDeControle;
+
+class LivreDePointsDeControleTest {
+  private static final List<Devise> DEVISES = List.of(MGA, EUR, CAD);
+  private static final LocalDate AU_1ER_JANVIER_2024 = LocalDate.of(2024, JANUARY, 1);
+
+  @Test
+  void projections_depuis_les_points_de_controle_egalent_le_grand_livre() {
+    var random = new Random(20241101);
+    for (int i = 0; i < 30; i++) {
+      var graine = random.nextLong();
+      var dates = random.ints(20, -30, 20 * 365).mapToObj(AU_1ER_JANVIER_2024::plusDays).toList();
+      var compte = compteAleatoire(new Random(graine));
+      var attendues = dates.stream().map(compte::valeurComptableFuture).toList();
+
+      for (var mois : new int[] {1, 3, 12}) {
+        try (var contexte = ContexteDeProjection.ouvrir(new PointsDeControle(mois))) {
+          var compteAvecPoints = compteAleatoire(new Random(graine));
+          assertEquals(
+              attendues, dates.stream().map(compteAvecPoints::valeurComptableFuture).toList());
+        }
+      }
+    }
+  }
+
+  @Test
+  void points_de_controle_sont_bornes_par_l_intervalle_et_la_fin_des_flux() {
+    var t = AU_1ER_JANVIER_2024;
+    var compte = new Compte("Compte", t, ariary(1_000));
+    new FluxArgent("Salaire", compte, t, t.plusYears(10), 31, ariary(100));
+
+    var livreMensuel = compte.livreDePointsDeControle(t.plusYears(5), 1);
+    var livreAnnuel = compte.livreDePointsDeControle(t.plusYears(5), 12);
+    var livreAuDela = compte.livreDePointsDeControle(t.plusYears(50), 12);
+
+    assertEquals(61, livreMensuel.taille());
+    assertEquals(6, livreAnnuel.taille());
+    assertTrue(livreAuDela.taille() <= 12);
+    assertEquals(ariary(1_000 + 120 * 100), livreAuDela.solde(t.plusYears(50)));
+  }
+
+  @Test
+  void dates_avant_le_premier_flux_bien_apres_t_gardent_la_valeur_initiale() {
+    var t = AU_1ER_JANVIER_2024;
+    var debutDuFlux = t.plusYears(1);
+    var compte = new Compte("Compte", t, ariary(100));
+    new FluxArgent("Salaire", compte, debutDuFlux, debutDuFlux.plusYears(1), 1, ariary(10));
+
+    try (var contexte = ContexteDeProjection.ouvrir(PointsDeControle.TRIMESTRIELS)) {
+      assertEquals(ariary(100), compte.valeurComptableFuture(t.plusMonths(5)));
+      assertEquals(ariary(100), compte.valeurComptableFuture(debutDuFlux.minusDays(1)));
+      assertEquals(ariary(110), compte.valeurComptableFuture(debutDuFlux));
+      assertEquals(ariary(100), compte.valeurComptableFuture(t.plusMonths(2)));
+    }
+  }
+
+  @Test
+  void intervalle_doit_etre_positif() {
+    assertThrows(IllegalArgumentException.class, () -> new PointsDeControle(-1));
+  }
+
+  @Test
+  void points_de_controle_sont_ceux_du_contexte_exterieur() {
+    assertEquals(PointsDeControle.AUCUN, ContexteDeProjection.pointsDeControle());
+    try (var exterieur = ContexteDeProjection.ouvrir(PointsDeControle.TRIMESTRIELS)) {
+      try (var interieur = ContexteDeProjection.ouvrir()) {
+        assertEquals(PointsDeControle.TRIMESTRIELS, ContexteDeProjection.pointsDeControle());
+      }
+      try (var interieur = ContexteDeProjection.ouvrir(PointsDeControle.TRIMESTRIELS)) {
+        assertSame(exterieur, interieur);
+      }
+      assertThrows(
+          IllegalStateException.class, () -> ContexteDeProjection.ouvrir(PointsDeControle.AUCUN));
+      assertSame(exterieur, ContexteDeProjection.courant());
+    }
+    assertEquals(PointsDeControle.AUCUN, ContexteDeProjection.pointsDeControle());
+  }
+
+  private static Compte compteAleatoire(Random random) {
+    var t = AU_1ER_JANVIER_2024.plusDays(random.nextInt(365));
+    var compte =
+        new Compte(
+            "Compte",
+            t.minusDays(random.nextInt(30)),
+            t,
+            new Argent(random.nextInt(1_000_000), DEVISES.get(random.nextInt(DEVISES.size()))));
+    var nbFlux = random.nextInt(6);
+    for (int j = 0; j < nbFlux; j++) {
+      var debut = AU_1ER_JANVIER_2024.plusDays(random.nextInt(2 * 365) - 365);
+      var fin = random.nextBoolean() ? LocalDate.MAX : debut.plusDays(random.nextInt(10 * 365));
+      new FluxArgent(
+          "Flux " + j,
+          compte,
+          debut,
+          fin,
+          random.nextInt(33),
+          new Argent(
+              random.nextInt(200_000) - 100_000, DEVISES.get(random.nextInt(DEVISES.size()))));
+    }
+    return compte;
+  }
+}
@@ -1,21 +1,34 @@
 package school.hei.patrimoine.modele.recouppement;
 
 import static java.time.Month.*;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.*;
 import static school.hei.patrimoine.modele.Argent.ariary;
 import static school.hei.patrimoine.modele.Devise.MGA;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import school.hei.patrimoine.cas.Cas;
 import school.hei.patrimoine.cas.CasSet;
+import school.hei.patrimoine.modele.Argent;
 import school.hei.patrimoine.modele.Devise;
 import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.CompteCorrection;
 import school.hei.patrimoine.modele.possession.FluxArgent;
 import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.recouppement.RecoupeurDeCasSet.RecoupementDeCas;
 
 class RecoupeurDeCasSetTest {
   @Test
@@ -156,6 +169,77 @@ class RecoupeurDeCasSetTest {
         donePatrimoine.getPossessions().size(), recoupedCas.patrimoine().getPossessions().size());
   }
 
+  @Test
+  void ne_recoupe_que_la_fenetre_choisie() {
+    var ouverture = LocalDate.of(2025, JANUARY, 1);
+    var ajd = LocalDate.of(2025, FEBRUARY, 1);
+    var fin = LocalDate.of(2025, MARCH, 31);
+
+    var plannedCas =
+        casAvecSalaires(
+            ajd,
+            fin,
+            compte -> Set.of(new FluxArgent("salaire", compte, ouverture, fin, 5, ariary(300))));
+    var doneCas =
+        casAvecSalaires(
+            ajd,
+            fin,
+            compte ->
+                Set.of(
+                    new FluxArgent("salaire", compte, ouverture, ajd.minusDays(1), 5, ariary(200)),
+                    new FluxArgent("salaire", compte, ajd, fin, 5, ariary(300))));
+
+    var plannedSet = new CasSet(Set.of(plannedCas), ariary(0));
+    var doneSet = new CasSet(Set.of(doneCas), ariary(0));
+
+    var complet = RecoupeurDeCasSet.of(plannedSet, doneSet);
+    complet.getRecouped();
+    var depuisAjd =
+        RecoupeurDeCasSet.of(plannedSet, doneSet)
+            .dans(new FenetreDeRecoupement(ajd, LocalDate.MAX));
+    depuisAjd.getRecouped();
+
+    assertEquals(1, complet.getRecoupementsDeCas().getFirst().nbCorrections());
+    assertEquals(0, depuisAjd.getRecoupementsDeCas().getFirst().nbCorrections());
+  }
+
+  @Test
+  void fenetre_de_recoupement_ne_finit_pas_avant_de_commencer() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new FenetreDeRecoupement(LocalDate.of(2025, MARCH, 1), LocalDate.of(2025, JANUARY, 1)));
+  }
+
+  private static Cas casAvecSalaires(
+      LocalDate ajd, LocalDate fin, Function<Compte, Set<FluxArgent>> salaires) {
+    var compte = new Compte("comptePersonnel", LocalDate.of(2025, JANUARY, 1), ariary(0));
+    return new Cas(ajd, fin, Map.of()) {
+      @Override
+      protected void init() {}
+
+      @Override
+      protected void suivi() {}
+
+      @Override
+      public Set<Possession> possessions() {
+        var possessions = new HashSet<Possession>(salaires.apply(compte));
+        possessions.add(compte);
+        return possessions;
+      }
+
+      @Override
+      protected Devise devise() {
+        return MGA;
+      }
+
+      @Override
+      protected String nom() {
+        return "Zety";
+      }
+    };
+  }
+
   @Disabled
   @Test
   void ajoute_correction_si_possession_manquante_dans_reel() {
@@ -428,4 +512,220 @@ class RecoupeurDeCasSetTest {
             > doneCas.patrimoine().getPossessions().size());
     assertEquals(6, recoupedCas.patrimoine().getPossessions().size());
   }
+
+  @Test
+  void recoupement_parallele_egale_recoupement_sequentiel() {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var sequentiel = RecoupeurDeCasSet.of(casSet(300), casSet(200));
+      var parallele = RecoupeurDeCasSet.of(casSet(300), casSet(200), executor);
+
+      var recoupeSequentiel = sequentiel.getRecouped();
+      var recoupeParallele = parallele.getRecouped();
+
+      assertEquals(noms(recoupeSequentiel), noms(recoupeParallele));
+      assertEquals(nbCorrectionsParNom(sequentiel), nbCorrectionsParNom(parallele));
+      assertEquals(12, parallele.getRecoupementsDeCas().size());
+      assertTrue(
+          parallele.getRecoupementsDeCas().stream()
+              .allMatch(r -> r.nbCorrections() == 1 && !r.duree().isNegative()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void compte_correction_est_cree_une_seule_fois_meme_en_concurrence() throws Exception {
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int essai = 0; essai < 50; essai++) {
+        var compte = new Compte("compte", LocalDate.of(2025, JANUARY, 1), ariary(0));
+        var comptesCorrections =
+            executor.invokeAll(
+                Collections.nCopies(8, (Callable<CompteCorrection>) compte::getCompteCorrection));
+
+        for (var compteCorrection : comptesCorrections) {
+          assertSame(compte.getCompteCorrection(), compteCorrection.get());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void recoupement_incremental_ne_recalcule_que_les_cas_modifies() {
+    var cache = new CacheDeRecoupement();
+    var empreintesPrevues = empreintes("prevu");
+    var empreintesRealisees = empreintes("realise");
+
+    var premier =
+        RecoupeurDeCasSet.incremental(
+            casSet(300), casSet(200), empreintesPrevues, empreintesRealisees, cache);
+    premier.getRecouped();
+    var empreintesRealiseesModifiees = new HashMap<>(empreintesRealisees);
+    empreintesRealiseesModifiees.put("Cas3", "realise-modifie");
+    var second =
+        RecoupeurDeCasSet.incremental(
+            casSet(300), casSet(200), empreintesPrevues, empreintesRealiseesModifiees, cache);
+    var recoupeIncremental = second.getRecouped();
+    var recoupeComplet = RecoupeurDeCasSet.of(casSet(300), casSet(200)).getRecouped();
+
+    assertTrue(premier.getRecoupementsDeCas().stream().allMatch(RecoupementDeCas::recalcule));
+    assertEquals(
+        Set.of("Cas3"),
+        second.getRecoupementsDeCas().stream()
+            .filter(RecoupementDeCas::recalcule)
+            .map(RecoupementDeCas::nom)
+            .collect(toSet()));
+    assertEquals(nbCorrectionsParNom(premier), nbCorrectionsParNom(second));
+    assertEquals(12, cache.taille());
+    assertEquals(correctionsParNom(recoupeComplet), correctionsParNom(recoupeIncremental));
+  }
+
+  @Test
+  void recoupement_incremental_recalcule_quand_un_compte_partage_change() {
+    var cache = new CacheDeRecoupement();
+    var empreintesPrevues = empreintes("prevu");
+    var empreintesRealisees = empreintes("realise");
+
+    RecoupeurDeCasSet.incremental(
+            casSetAvecCompteCommun(300),
+            casSetAvecCompteCommun(200),
+            empreintesPrevues,
+            empreintesRealisees,
+            cache)
+        .getRecouped();
+    var memesComptes =
+        RecoupeurDeCasSet.incremental(
+            casSetAvecCompteCommun(300),
+            casSetAvecCompteCommun(200),
+            empreintesPrevues,
+            empreintesRealisees,
+            cache);
+    memesComptes.getRecouped();
+    // The cas files are unchanged: only the flux of the shared compte differ
+    var compteCommunModifie =
+        RecoupeurDeCasSet.incremental(
+            casSetAvecCompteCommun(300),
+            casSetAvecCompteCommun(250),
+            empreintesPrevues,
+            empreintesRealisees,
+            cache);
+    compteCommunModifie.getRecouped();
+
+    assertTrue(memesComptes.getRecoupementsDeCas().stream().noneMatch(RecoupementDeCas::recalcule));
+    assertTrue(
+        compteCommunModifie.getRecoupementsDeCas().stream().allMatch(RecoupementDeCas::recalcule));
+  }
+
+  private static CasSet casSet(int salaire) {
+    return casSet(
+        salaire, i -> new Compte("compte" + i, LocalDate.of(2025, JANUARY, 1), ariary(0)));
+  }
+
+  private static CasSet casSetAvecCompteCommun(int salaire) {
+    var commun = new Compte("commun", LocalDate.of(2025, JANUARY, 1), ariary(0));
+    return casSet(salaire, i -> commun);
+  }
+
+  private static CasSet casSet(int salaire, IntFunction<Compte> compteDuCas) {
+    var debut = LocalDate.of(2025, JANUARY, 1);
+    var fin = LocalDate.of(2025, MARCH, 1);
+    var cas = new HashSet<Cas>();
+    for (int i = 0; i < 12; i++) {
+      var nom = "Cas" + i;
+      var compte = compteDuCas.apply(i);
+      var salaireDuCas = new FluxArgent("salaire" + i, compte, fin, ariary(salaire));
+      cas.add(
+          new Cas(debut, fin, Map.of()) {
+            @Override
+            protected void init() {}
+
+            @Override
+            protected void suivi() {}
+
+            @Override
+            public Set<Possession> possessions() {
+              return Set.of(compte, salaireDuCas);
+            }
+
+            @Override
+            protected Devise devise() {
+              return MGA;
+            }
+
+            @Override
+            protected String nom() {
+              return nom;
+            }
+          });
+    }
+    return new CasSet(cas, ariary(0));
+  }
+
+  @Test
+  void recoupement_parallele_d_un_compte_commun_aux_cas_egale_recoupement_sequentiel() {
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int essai = 0; essai < 20; essai++) {
+        var sequentiel =
+            RecoupeurDeCasSet.of(casSetAvecCompteCommun(300), casSetAvecCompteCommun(200));
+        var parallele =
+            RecoupeurDeCasSet.of(
+                casSetAvecCompteCommun(300), casSetAvecCompteCommun(200), executor);
+
+        var recoupeSequentiel = sequentiel.getRecouped();
+        var recoupeParallele = parallele.getRecouped();
+
+        assertEquals(nbCorrectionsParNom(sequentiel), nbCorrectionsParNom(parallele));
+        assertEquals(12, fluxDeCorrectionDuCompteCommun(recoupeSequentiel));
+        assertEquals(12, fluxDeCorrectionDuCompteCommun(recoupeParallele));
+        assertEquals(correctionsParNom(recoupeSequentiel), correctionsParNom(recoupeParallele));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static int fluxDeCorrectionDuCompteCommun(CasSet casSet) {
+    var commun =
+        casSet.set().stream()
+            .flatMap(cas -> cas.patrimoine().getPossessions().stream())
+            .filter(p -> p instanceof Compte && p.nom().equals("commun"))
+            .findAny()
+            .orElseThrow();
+    return commun.getCompteCorrection().getCompte().getFluxArgents().size();
+  }
+
+  private static Map<String, String> empreintes(String prefixe) {
+    var empreintes = new HashMap<String, String>();
+    for (int i = 0; i < 12; i++) {
+      empreintes.put("Cas" + i, prefixe + i);
+    }
+    return empreintes;
+  }
+
+  private static Map<String, List<String>> correctionsParNom(CasSet casSet) {
+    return casSet.set().stream()
+        .collect(
+            toMap(
+                cas -> cas.patrimoine().nom(),
+                cas ->
+                    cas.patrimoine().getPossessions().stream()
+                        .filter(p -> p instanceof CompteCorrection)
+                        .map(p -> p.projectionFuture(cas.getFinSimulation()).valeurComptable())
+                        .map(Argent::ppMontant)
+                        .sorted()
+                        .toList()));
+  }
+
+  private static Set<String> noms(CasSet casSet) {
+    return casSet.set().stream().map(cas -> cas.patrimoine().nom()).collect(toSet());
+  }
+
+  private static Map<String, Integer> nbCorrectionsParNom(RecoupeurDeCasSet recoupeur) {
+    return recoupeur.getRecoupementsDeCas().stream()
+        .collect(toMap(RecoupementDeCas::nom, RecoupementDeCas::nbCorrections));
+  }
 }
@@ -2,7 +2,10 @@ package school.hei.patrimoine.modele.recouppement;
 
 import static java.time.Month.*;
 import static java.util.function.Predicate.not;
+import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static school.hei.patrimoine.modele.Argent.ariary;
 import static school.hei.patrimoine.modele.Devise.MGA;
@@ -12,12 +15,14 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.possession.Compte;
 import school.hei.patrimoine.modele.possession.CompteCorrection;
 import school.hei.patrimoine.modele.possession.FluxArgent;
 import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.recouppement.CompteGetterFactory.CompteGetter;
 
 class RecoupeurDePossessionsTest {
   @Test
@@ -296,6 +301,145 @@ class RecoupeurDePossessionsTest {
     assertEquals(1, subject.getPossessionsExecutesSansCorrections().size());
   }
 
+  @Test
+  void regroupe_les_realisations_multiples_par_nom_de_base_et_type() {
+    var au01Janvier2025 = LocalDate.of(2025, JANUARY, 1);
+    var au02Mars2025 = LocalDate.of(2025, MARCH, 2);
+
+    var compte = new Compte("comptePersonnel", au01Janvier2025, ariary(0));
+
+    var prevu =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(compte, new FluxArgent("salaire", compte, au02Mars2025, ariary(300))));
+
+    var realise =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(
+                compte,
+                new FluxArgent("[salaire]__acompte", compte, au02Mars2025, ariary(100)),
+                new FluxArgent("[salaire]__solde", compte, au02Mars2025, ariary(200)),
+                new Compte("[salaire]__compte", au01Janvier2025, ariary(0))));
+
+    var subject = RecoupeurDePossessions.of(LocalDate.MAX, prevu, realise);
+
+    assertTrue(subject.getPossessionsNonExecutes().isEmpty());
+    assertEquals(
+        Set.of("[salaire]__compte"),
+        subject.getPossessionsNonPrevus().stream().map(Possession::nom).collect(toSet()));
+    assertTrue(subject.getCorrections().isEmpty());
+    assertEquals(
+        sortedWithoutCompteCorrectionsPossessions(prevu.getPossessions()),
+        sortedWithoutCompteCorrectionsPossessions(subject.getPossessionsExecutesSansCorrections()));
+  }
+
+  @Test
+  void recoupement_et_corrections_sont_calcules_une_seule_fois() {
+    var au01Janvier2025 = LocalDate.of(2025, JANUARY, 1);
+    var au02Mars2025 = LocalDate.of(2025, MARCH, 2);
+
+    var compte = new Compte("comptePersonnel", au01Janvier2025, ariary(0));
+    var prevu =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(
+                compte,
+                new FluxArgent("salaire", compte, au02Mars2025, ariary(300)),
+                new FluxArgent("loyer", compte, au02Mars2025, ariary(-100))));
+    var realise =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(
+                compte,
+                new FluxArgent("salaire", compte, au02Mars2025, ariary(250)),
+                new FluxArgent("prime", compte, au02Mars2025, ariary(50))));
+    var appelsAuCompteGetter = new AtomicInteger();
+    CompteGetter compteGetter =
+        nom -> {
+          appelsAuCompteGetter.incrementAndGet();
+          return compte;
+        };
+
+    var subject =
+        new RecoupeurDePossessions(
+            LocalDate.MAX, prevu.getPossessions(), realise.getPossessions(), compteGetter);
+    var result = subject.getResult();
+    var appelsAuRecoupement = appelsAuCompteGetter.get();
+
+    assertEquals(3, result.getCorrections().size());
+    assertEquals(4, result.getPossessionsRecoupees().size());
+    assertEquals(1, subject.getPossessionsExecutesAvecCorrections().size());
+    assertEquals(1, subject.getPossessionsNonExecutes().size());
+    assertEquals(1, subject.getPossessionsNonPrevus().size());
+    assertSame(result.getCorrections(), subject.getCorrections());
+    assertSame(result.getPossessionsRecoupees(), subject.getPossessionsRecoupees());
+    assertEquals(appelsAuRecoupement, appelsAuCompteGetter.get());
+    assertThrows(UnsupportedOperationException.class, () -> result.getCorrections().clear());
+  }
+
+  @Test
+  void ne_recoupe_que_les_occurrences_de_la_fenetre() {
+    var au01Janvier2025 = LocalDate.of(2025, JANUARY, 1);
+    var compte = new Compte("comptePersonnel", au01Janvier2025, ariary(0));
+    var prevu =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(
+                compte,
+                new FluxArgent("salaire", compte, au01Janvier2025, LocalDate.MAX, 5, ariary(300))));
+    var realise =
+        Patrimoine.of(
+            "zety",
+            MGA,
+            au01Janvier2025,
+            Map.of(),
+            Set.of(
+                compte,
+                new FluxArgent(
+                    "salaire",
+                    compte,
+                    au01Janvier2025,
+                    LocalDate.of(2025, MARCH, 31),
+                    5,
+                    ariary(200)),
+                new FluxArgent(
+                    "salaire",
+                    compte,
+                    LocalDate.of(2025, APRIL, 1),
+                    LocalDate.of(2025, JUNE, 30),
+                    5,
+                    ariary(300))));
+
+    var subject =
+        RecoupeurDePossessions.of(
+            LocalDate.of(2025, APRIL, 1),
+            LocalDate.of(2025, JUNE, 30),
+            prevu,
+            realise,
+            CompteGetterFactory.make(realise));
+
+    assertTrue(subject.getCorrections().isEmpty());
+    assertEquals(4, subject.getPossessionsExecutesSansCorrections().size());
+    assertTrue(subject.getPossessionsNonExecutes().isEmpty());
+    assertTrue(subject.getPossessionsNonPrevus().isEmpty());
+  }
+
   private static List<Possession> sortedWithoutCompteCorrectionsPossessions(
       Set<Possession> possessions) {
     return possessions.stream()
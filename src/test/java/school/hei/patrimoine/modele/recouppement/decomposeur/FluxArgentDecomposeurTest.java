@@ -1,12 +1,16 @@
 package school.hei.patrimoine.modele.recouppement.decomposeur;
 
+import static java.time.Month.APRIL;
+import static java.time.Month.FEBRUARY;
 import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
 import static java.time.Month.MARCH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static school.hei.patrimoine.modele.Argent.ariary;
 
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import school.hei.patrimoine.modele.decomposeur.FluxArgentDecomposeur;
 import school.hei.patrimoine.modele.possession.Compte;
@@ -71,4 +75,60 @@ public class FluxArgentDecomposeurTest {
 
     assertTrue(actual.isEmpty());
   }
+
+  @Test
+  void decompose_flux_comme_le_parcours_des_jours() {
+    var compte = new Compte("Compte D", LocalDate.of(2023, JANUARY, 1), ariary(0));
+    for (var dateOperation : new int[] {0, 1, 15, 28, 29, 30, 31, 32}) {
+      var flux =
+          new FluxArgent(
+              "Loyer",
+              compte,
+              LocalDate.of(2023, JANUARY, 20),
+              LocalDate.of(2025, MARCH, 30),
+              dateOperation,
+              ariary(100));
+
+      var actual = subject.apply(flux).stream().map(FluxArgent::getDebut).toList();
+
+      var attendu =
+          flux.getDebut()
+              .datesUntil(flux.getFin().plusDays(1))
+              .filter(date -> date.getDayOfMonth() == Math.min(dateOperation, date.lengthOfMonth()))
+              .toList();
+      assertEquals(attendu, actual);
+    }
+  }
+
+  @Test
+  void decompose_seulement_les_occurrences_de_la_fenetre_de_recoupement() {
+    var compte = new Compte("Compte E", LocalDate.of(2025, JANUARY, 1), ariary(0));
+    var flux =
+        new FluxArgent(
+            "Salaire",
+            compte,
+            LocalDate.of(2025, JANUARY, 1),
+            LocalDate.of(2125, JANUARY, 1),
+            31,
+            ariary(1000));
+    var ponctuel =
+        new FluxArgent(
+            "Prime",
+            compte,
+            LocalDate.of(2025, FEBRUARY, 3),
+            LocalDate.of(2025, FEBRUARY, 3),
+            3,
+            ariary(10));
+    var trimestre =
+        new FluxArgentDecomposeur(LocalDate.of(2025, APRIL, 1), LocalDate.of(2025, JUNE, 30));
+
+    var actual = trimestre.apply(flux);
+
+    assertEquals(3, actual.size());
+    assertEquals("Salaire__du_2025_04_30", actual.get(0).nom());
+    assertEquals("Salaire__du_2025_05_31", actual.get(1).nom());
+    assertEquals("Salaire__du_2025_06_30", actual.get(2).nom());
+    assertTrue(trimestre.apply(ponctuel).isEmpty());
+    assertEquals(List.of(ponctuel), subject.apply(ponctuel));
+  }
 }
@@ -0,0 +1,117 @@
+package school.hei.patrimoine.modele.simulation;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.evolution.Resolution.FIN_DE_MOIS;
+import static school.hei.patrimoine.modele.simulation.Distribution.constante;
+import static school.hei.patrimoine.modele.simulation.Distribution.normale;
+import static school.hei.patrimoine.modele.simulation.Distribution.uniforme;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.evolution.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+
+class MoteurDeScenariosTest {
+  private static final LocalDate DEBUT = LocalDate.of(2024, JANUARY, 1);
+  private static final LocalDate FIN = LocalDate.of(2025, JUNE, 30);
+
+  private final Compte courant = new Compte("Courant", DEBUT, ariary(200_000));
+  private final Compte epargne = new Compte("Epargne", DEBUT, euro(100));
+  private final FluxArgent salaire =
+      new FluxArgent("Salaire", courant, DEBUT, FIN, 1, ariary(500_000));
+  private final FluxArgent placement =
+      new FluxArgent("Placement", epargne, DEBUT.plusMonths(2), FIN, 10, ariary(40_000));
+  private final Materiel ordinateur =
+      new Materiel("Ordinateur", DEBUT, DEBUT, ariary(3_000_000), -0.2);
+  private final Patrimoine patrimoine;
+
+  MoteurDeScenariosTest() {
+    new FluxArgent("Loyer", courant, DEBUT, FIN, 5, ariary(-550_000));
+    patrimoine =
+        Patrimoine.of(
+            "Scénarios", MGA, DEBUT, new Personne("Ilo"), Set.of(courant, epargne, ordinateur));
+  }
+
+  @Test
+  void scenarios_constants_egalent_la_simulation() {
+    var moteur =
+        new MoteurDeScenarios(patrimoine, DEBUT, FIN)
+            .tauxDAppreciation(ordinateur, constante(-0.2))
+            .tauxDAppreciation(EUR, constante(EUR.tauxDappréciationAnnuel()))
+            .facteurDuMontant(salaire, constante(1))
+            .joursDeDecalageDuDebut(placement, constante(0));
+
+    var resultat = moteur.executer(8, 42);
+
+    var simulation = SimulationPlan.compiler(patrimoine, FIN).executer(DEBUT, FIN);
+    assertArrayEquals(simulation.valeursPatrimoine(), resultat.p10(), 1e-6);
+    assertArrayEquals(simulation.valeursPatrimoine(), resultat.p50(), 1e-6);
+    assertArrayEquals(simulation.valeursPatrimoine(), resultat.p90(), 1e-6);
+    var evolution = new EvolutionPatrimoine("Scénarios", patrimoine, DEBUT, FIN);
+    assertEquals(
+        evolution.getFluxJournaliersImpossibles().isEmpty() ? 0. : 1.,
+        resultat.probabiliteDeFluxImpossible());
+  }
+
+  @Test
+  void scenarios_varies_donnent_des_bandes_et_une_probabilite_de_flux_impossibles() {
+    var moteur =
+        new MoteurDeScenarios(patrimoine, DEBUT, FIN, FIN_DE_MOIS)
+            .tauxDAppreciation(ordinateur, normale(-0.2, 0.1))
+            .tauxDAppreciation(EUR, uniforme(-0.1, 0.1))
+            .facteurDuMontant(salaire, uniforme(0.9, 1.3))
+            .joursDeDecalageDuDebut(placement, uniforme(-60, 60));
+    var progressions = new ArrayList<ResultatDeScenarios>();
+    var executeur = Executors.newFixedThreadPool(4);
+
+    var resultat = moteur.executer(1_000, 2024, executeur, progressions::add);
+    executeur.shutdown();
+
+    assertEquals(1_000, resultat.nbScenarios());
+    assertSame(resultat, progressions.getLast());
+    assertTrue(progressions.getFirst().nbScenarios() < resultat.nbScenarios());
+    assertTrue(resultat.probabiliteDeFluxImpossible() > 0);
+    assertTrue(resultat.probabiliteDeFluxImpossible() < 1);
+    var derniere = resultat.dates().size() - 1;
+    for (int i = 0; i <= derniere; i++) {
+      assertTrue(resultat.p10()[i] <= resultat.p50()[i]);
+      assertTrue(resultat.p50()[i] <= resultat.p90()[i]);
+    }
+    assertTrue(resultat.p10()[derniere] < resultat.p90()[derniere]);
+
+    var memeGraine = moteur.executer(1_000, 2024);
+    assertArrayEquals(resultat.p50(), memeGraine.p50());
+    assertEquals(resultat.probabiliteDeFluxImpossible(), memeGraine.probabiliteDeFluxImpossible());
+  }
+
+  @Test
+  void variations_doivent_porter_sur_le_plan() {
+    var moteur = new MoteurDeScenarios(patrimoine, DEBUT, FIN);
+    var horsPlan = new Compte("Hors plan", DEBUT, ariary(0));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            moteur.facteurDuMontant(
+                new FluxArgent("Hors plan", horsPlan, DEBUT, ariary(1)), constante(1)));
+    assertThrows(IllegalArgumentException.class, () -> moteur.executer(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> uniforme(1, 0));
+  }
+}
@@ -0,0 +1,141 @@
+package school.hei.patrimoine.modele.simulation;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static java.time.Month.MAY;
+import static java.time.Month.NOVEMBER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.Argent.ariary;
+import static school.hei.patrimoine.modele.Argent.euro;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.example.PatrimoineCresusSupplier;
+import school.hei.patrimoine.cas.example.PatrimoineRicheSupplier;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Compte;
+import school.hei.patrimoine.modele.possession.Correction;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.RemboursementDette;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+class SimulationPlanTest {
+
+  @Test
+  void simulation_egale_projection_de_chaque_jour() {
+    assertSimulationEgaleProjectionDeChaqueJour(
+        new PatrimoineCresusSupplier().get(),
+        LocalDate.of(2024, MAY, 12),
+        LocalDate.of(2025, JUNE, 30));
+    assertSimulationEgaleProjectionDeChaqueJour(
+        new PatrimoineRicheSupplier().get(),
+        LocalDate.of(2024, MAY, 12),
+        LocalDate.of(2026, NOVEMBER, 5));
+    assertSimulationEgaleProjectionDeChaqueJour(
+        patrimoineDeToutesLesPossessions(),
+        LocalDate.of(2023, NOVEMBER, 1),
+        LocalDate.of(2025, JANUARY, 31));
+  }
+
+  @Test
+  void simulation_ne_depasse_pas_le_plan() {
+    var patrimoine = new PatrimoineRicheSupplier().get();
+    var plan = SimulationPlan.compiler(patrimoine, LocalDate.of(2025, JANUARY, 1));
+    var resultat = plan.executer(LocalDate.of(2024, MAY, 13), LocalDate.of(2024, JUNE, 1));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> plan.executer(LocalDate.of(2024, MAY, 13), LocalDate.of(2025, JANUARY, 2)));
+    assertThrows(
+        IllegalArgumentException.class, () -> resultat.patrimoine(LocalDate.of(2024, JUNE, 2)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> resultat.valeurs(new Compte("Inconnu", LocalDate.of(2024, MAY, 13), ariary(0))));
+  }
+
+  private static void assertSimulationEgaleProjectionDeChaqueJour(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var resultat = SimulationPlan.compiler(patrimoine, fin).executer(debut, fin);
+
+    assertEquals(debut.datesUntil(fin.plusDays(1)).toList(), resultat.dates());
+    resultat
+        .dates()
+        .forEach(
+            date -> {
+              var attendu = patrimoine.projectionFuture(date);
+              var reconstruit = resultat.patrimoine(date);
+              assertEquals(attendu.getValeurComptable(), resultat.valeurComptablePatrimoine(date));
+              assertEquals(attendu.getValeurComptable(), reconstruit.getValeurComptable());
+              patrimoine
+                  .getPossessions()
+                  .forEach(
+                      p -> {
+                        var valeurAttendue = p.projectionFuture(date).valeurComptable();
+                        assertEquals(
+                            valeurAttendue,
+                            resultat.valeurComptable(p, date),
+                            date + " " + p.nom());
+                        assertEquals(
+                            valeurAttendue,
+                            resultat.projection(p, date).valeurComptable(),
+                            date + " " + p.nom());
+                      });
+            });
+  }
+
+  private static Patrimoine patrimoineDeToutesLesPossessions() {
+    var t = LocalDate.of(2024, JANUARY, 1);
+    var compteCourant = new Compte("Compte courant", t, ariary(5_000_000));
+    var compteEpargne = new Compte("Compte épargne", t.plusMonths(2), t, euro(1_000));
+    var dette = new Dette("Dette", t, ariary(-2_000_000));
+    var creance = new Creance("Créance", t, ariary(2_000_000));
+    var salaire =
+        new FluxArgent("Salaire", compteCourant, t.minusMonths(1), LocalDate.MAX, 31, euro(500));
+    var transfert =
+        new TransfertArgent(
+            "Épargne", compteCourant, compteEpargne, t, t.plusMonths(10), 5, ariary(200_000));
+    var remboursement =
+        new RemboursementDette(
+            "Remboursement",
+            compteCourant,
+            compteCourant,
+            dette,
+            creance,
+            t.plusMonths(3),
+            ariary(1_000_000));
+    var ordinateur =
+        new AchatMaterielAuComptant(
+            "Ordinateur", t.plusDays(10), ariary(3_000_000), -0.2, compteCourant);
+    var voiture = new Materiel("Voiture", t.minusYears(1), t, euro(5_000), -0.5);
+    var correction =
+        new Correction(new FluxArgent("Oubli", compteCourant, t.plusDays(20), euro(-20)));
+    var groupe =
+        new GroupePossession(
+            "Épargnes", MGA, t, Set.of(compteEpargne, new Compte("Tirelire", t, euro(10))));
+    return Patrimoine.of(
+        "Toutes les possessions",
+        MGA,
+        t,
+        new Personne("Rasoa"),
+        Set.of(
+            compteCourant,
+            dette,
+            creance,
+            salaire,
+            transfert,
+            remboursement,
+            ordinateur,
+            voiture,
+            correction,
+            groupe));
+  }
+}
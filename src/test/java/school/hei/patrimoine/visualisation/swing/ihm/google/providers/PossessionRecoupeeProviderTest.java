@@ -229,4 +229,50 @@ class PossessionRecoupeeProviderTest {
     assertEquals(1, result.possessionRecoupees().size());
     assertEquals(2, result.totalPage());
   }
+
+  @Test
+  void getList_pages_over_the_same_recoupement() {
+    var compte1 = new Compte("compte1", date, Argent.ariary(100));
+    var compte2 = new Compte("compte2", date, Argent.ariary(200));
+    var cas =
+        new Cas(date, date, Map.of()) {
+          @Override
+          protected void init() {}
+
+          @Override
+          protected void suivi() {}
+
+          @Override
+          public Set<Possession> possessions() {
+            return Set.of(compte1, compte2);
+          }
+
+          @Override
+          protected Devise devise() {
+            return Devise.MGA;
+          }
+
+          @Override
+          protected String nom() {
+            return "patrimoine";
+          }
+        };
+    var subject = subject(cas);
+    var meta = PossessionRecoupeeProvider.Meta.builder().planned(cas).done(cas).build();
+
+    var toutes = subject.getList(meta, filter(new Pagination(1, 2))).possessionRecoupees();
+    var page1 = subject.getList(meta, filter(new Pagination(1, 1))).possessionRecoupees();
+    var page2 = subject.getList(meta, filter(new Pagination(2, 1))).possessionRecoupees();
+
+    assertSame(toutes.get(0), page1.getFirst());
+    assertSame(toutes.get(1), page2.getFirst());
+  }
+
+  private static PossessionRecoupeeProvider.Filter filter(Pagination pagination) {
+    return PossessionRecoupeeProvider.Filter.builder()
+        .statuses(Set.of(EXECUTE_SANS_CORRECTION))
+        .pagination(pagination)
+        .filterName("")
+        .build();
+  }
 }